@@ -0,0 +1,121 @@
+package com.baru.backend.service;
+
+import com.baru.backend.dto.flight.FlightOffer;
+import com.baru.backend.dto.trip.TripSearchResponse;
+import com.baru.backend.service.amadeus.FlightOfferDecoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검색 1건에서 네트워크를 뺀 CPU 구간: 편도 offer 환산/파싱, 후보 필터, top-K 정렬.
+ * 입력은 src/jmh/resources/fixtures 에 저장해둔 실제 응답 형태(ICN 출발).
+ * 실행: ./gradlew jmh  (gc 프로파일러로 op 당 할당량 같이 출력)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TripSearchBenchmark {
+
+    private static final Map<String, Double> RATES = Map.of(
+            "KRW", 1.0,
+            "JPY", 0.1093,
+            "USD", 0.000722,
+            "EUR", 0.000664
+    );
+
+    private List<FlightOffer> offers;
+    private FlightOffer krwOffer;
+    private FlightOffer usdOffer;
+    private List<RouteGraphService.RouteDestination> routes;
+    private List<TripPricing.PricedDestination> priced;
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream in = fixture("flight-offers-icn-nrt.json")) {
+            offers = FlightOfferDecoder.decode(in);
+        }
+        krwOffer = offers.get(0);
+        usdOffer = new FlightOffer("USD", 231.40, krwOffer.itineraries());
+
+        JsonNode root;
+        try (InputStream in = fixture("direct-destinations-icn.json")) {
+            root = new ObjectMapper().readTree(in);
+        }
+        routes = new ArrayList<>();
+        for (JsonNode item : root.path("data")) {
+            routes.add(new RouteGraphService.RouteDestination(
+                    item.path("iataCode").asText(),
+                    item.path("address").path("countryCode").asText(null),
+                    item.path("address").path("cityCode").asText(null)
+            ));
+        }
+
+        // 목적지 후보 20개가 끝나는 순서(가격 무작위)대로 들어오는 상황
+        priced = new ArrayList<>();
+        for (FlightOffer offer : offers) {
+            TripSearchResponse.FlightCard card = TripSearchResponse.FlightCard.builder()
+                    .priceWon(TripPricing.offerTotalWon(offer, RATES) * 2)
+                    .build();
+            priced.add(new TripPricing.PricedDestination(card, null));
+        }
+    }
+
+    // 반환 타입이 package-private 인 것은 Object 로 (생성 코드가 jmh_generated 패키지에 있음)
+
+    @Benchmark
+    public Object parseItinerary0() {
+        return TripPricing.parseItinerary0(krwOffer);
+    }
+
+    @Benchmark
+    public int offerTotalWon() {
+        return TripPricing.offerTotalWon(krwOffer, RATES);
+    }
+
+    @Benchmark
+    public int toKrwForeignCurrency() {
+        return TripPricing.toKrw(usdOffer.currency(), usdOffer.total(), RATES);
+    }
+
+    /** 응답 하나에 든 offer 전부를 환산 + 파싱 */
+    @Benchmark
+    public void priceAllOffers(Blackhole bh) {
+        for (FlightOffer offer : offers) {
+            bh.consume(TripPricing.offerTotalWon(offer, RATES));
+            bh.consume(TripPricing.parseItinerary0(offer));
+        }
+    }
+
+    @Benchmark
+    public Object filterCandidates() {
+        return TripPricing.filterCandidates(routes, "ICN", false);
+    }
+
+    @Benchmark
+    public Object rankTopK() {
+        TopK<TripPricing.PricedDestination> top =
+                new TopK<>(TripPricing.TOP_K, p -> p.flight().getPriceWon());
+        for (TripPricing.PricedDestination p : priced) {
+            top.offer(p);
+        }
+        return top.sorted();
+    }
+
+    private static InputStream fixture(String name) {
+        InputStream in = TripSearchBenchmark.class.getResourceAsStream("/fixtures/" + name);
+        if (in == null) throw new IllegalStateException("fixture 없음: " + name);
+        return in;
+    }
+}
@@ -0,0 +1,55 @@
+package com.baru.backend.service.amadeus;
+
+import com.baru.backend.dto.flight.FlightOffer;
+import com.baru.backend.dto.trip.TripSearchResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Amadeus 응답 처리 CPU 구간: flight-offers 스트리밍 디코딩, hotel-offers 최저가 스캔.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AmadeusParsingBenchmark {
+
+    private byte[] flightOffersBody;
+    private JsonNode hotelOffers;
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream in = fixture("flight-offers-icn-nrt.json")) {
+            flightOffersBody = in.readAllBytes();
+        }
+        try (InputStream in = fixture("hotel-offers-tyo.json")) {
+            hotelOffers = new ObjectMapper().readTree(in);
+        }
+    }
+
+    @Benchmark
+    public List<FlightOffer> decodeFlightOffers() throws IOException {
+        return FlightOfferDecoder.decode(new ByteArrayInputStream(flightOffersBody));
+    }
+
+    /** findCheapestHotelOffer 의 응답 스캔 부분(20개 호텔, 호텔당 1~3 offer) */
+    @Benchmark
+    public TripSearchResponse.HotelCard cheapestHotelOffer() {
+        return AmadeusHotelService.cheapestOffer(hotelOffers, "TYO", 3);
+    }
+
+    private static InputStream fixture(String name) {
+        InputStream in = AmadeusParsingBenchmark.class.getResourceAsStream("/fixtures/" + name);
+        if (in == null) throw new IllegalStateException("fixture 없음: " + name);
+        return in;
+    }
+}
@@ -0,0 +1,224 @@
+package com.baru.backend.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 부하 테스트용 Amadeus / 환율 API 대역 서버. 앱은 stub 프로필(application-stub.properties)로 여기를 바라본다.
+ *
+ * 엔드포인트 키(AmadeusEndpoint 와 동일)별로
+ *  --latency.&lt;key&gt;=중앙값/p99   (예: 300ms/1500ms, log-normal 분포로 샘플링)
+ *  --throttle-rate[.&lt;key&gt;]=0.05   429 + Retry-After 비율
+ *  --error-rate[.&lt;key&gt;]=0.01      500 비율
+ * 응답은 fixtures/ 의 실제 응답 형태를 공항/도시/날짜만 바꿔서 내려준다(경로마다 가격이 달라지도록 배율 적용).
+ *
+ * 실행: ./gradlew stubServer --args="--port=8089 --throttle-rate.flight-offers=0.05"
+ */
+public final class AmadeusStubServer {
+
+    private static final Map<String, String> DEFAULT_LATENCY = Map.of(
+            "token", "50ms/150ms",
+            "direct-destinations", "150ms/500ms",
+            "flight-offers", "300ms/1500ms",
+            "hotels-by-city", "150ms/600ms",
+            "hotel-offers", "400ms/2000ms",
+            "locations", "100ms/300ms",
+            "exchange-rate", "80ms/300ms"
+    );
+
+    private static final Pattern MONEY = Pattern.compile("\"(total|grandTotal|base)\": \"([0-9.]+)\"");
+
+    private final Options options;
+    private final Map<String, AtomicLong> served = new HashMap<>();
+
+    private final String directDestinations;
+    private final String flightOffers;
+    private final String hotelsByCity;
+    private final String hotelOffers;
+    private final String exchangeRates;
+
+    private AmadeusStubServer(Options options) throws IOException {
+        this.options = options;
+        DEFAULT_LATENCY.keySet().forEach(key -> served.put(key, new AtomicLong()));
+
+        this.directDestinations = fixture("direct-destinations-icn.json");
+        this.flightOffers = fixture("flight-offers-icn-nrt.json");
+        this.hotelsByCity = fixture("hotels-by-city-tyo.json");
+        this.hotelOffers = fixture("hotel-offers-tyo.json");
+        this.exchangeRates = fixture("exchange-rate-krw.json");
+    }
+
+    public static void main(String[] args) throws IOException {
+        Options options = Options.parse(args);
+        new AmadeusStubServer(options).start();
+    }
+
+    private void start() throws IOException {
+        int port = options.intValue("port", 8089);
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor()); // 지연 sleep 이 스레드를 잡지 않도록
+
+        server.createContext("/v1/security/oauth2/token", ex -> handle(ex, "token", this::token));
+        server.createContext("/v1/airport/direct-destinations", ex -> handle(ex, "direct-destinations", q -> directDestinations));
+        server.createContext("/v2/shopping/flight-offers", ex -> handle(ex, "flight-offers", this::flightOffers));
+        server.createContext("/v1/reference-data/locations/hotels/by-city", ex -> handle(ex, "hotels-by-city", this::hotelsByCity));
+        server.createContext("/v3/shopping/hotel-offers", ex -> handle(ex, "hotel-offers", this::hotelOffers));
+        server.createContext("/v1/reference-data/locations", ex -> handle(ex, "locations", this::locations));
+        server.createContext("/v6/", ex -> handle(ex, "exchange-rate", q -> exchangeRates));
+
+        server.start();
+        System.out.printf("[STUB] listening on http://localhost:%d (amadeus.base-url / exchange.api.base=http://localhost:%d/v6)%n", port, port);
+
+        // 10초마다 엔드포인트별 처리 건수
+        Executors.newSingleThreadScheduledExecutor().scheduleAtFixedRate(
+                () -> System.out.println("[STUB] served " + served),
+                10, 10, TimeUnit.SECONDS
+        );
+    }
+
+    // ===== handlers =====
+
+    private String token(Map<String, String> query) {
+        return "{\"type\":\"amadeusOAuth2Token\",\"username\":\"stub\",\"application_name\":\"baru-stub\","
+                + "\"client_id\":\"stub\",\"token_type\":\"Bearer\",\"access_token\":\"stub-" + Instant.now().toEpochMilli()
+                + "\",\"expires_in\":1799,\"state\":\"approved\",\"scope\":\"\"}";
+    }
+
+    private String flightOffers(Map<String, String> query) {
+        String origin = query.getOrDefault("originLocationCode", "ICN");
+        String destination = query.getOrDefault("destinationLocationCode", "NRT");
+        String date = query.getOrDefault("departureDate", "2026-11-12");
+
+        String body = flightOffers
+                .replace("\"iataCode\": \"ICN\"", "\"iataCode\": \"" + origin + "\"")
+                .replace("\"iataCode\": \"NRT\"", "\"iataCode\": \"" + destination + "\"")
+                .replace("2026-11-12", date);
+        return scalePrices(body, origin + destination + date);
+    }
+
+    private String hotelsByCity(Map<String, String> query) {
+        return hotelsByCity.replace("TYO", query.getOrDefault("cityCode", "TYO"));
+    }
+
+    private String hotelOffers(Map<String, String> query) {
+        // hotelIds = HL<city>001,... → by-city 응답과 같은 도시 코드로 맞춤
+        String ids = query.getOrDefault("hotelIds", "HLTYO001");
+        String city = ids.length() >= 5 ? ids.substring(2, 5) : "TYO";
+        String body = hotelOffers
+                .replace("TYO", city)
+                .replace("2026-11-12", query.getOrDefault("checkInDate", "2026-11-12"))
+                .replace("2026-11-15", query.getOrDefault("checkOutDate", "2026-11-15"));
+        return scalePrices(body, city);
+    }
+
+    private String locations(Map<String, String> query) {
+        String keyword = query.getOrDefault("keyword", "NRT");
+        return "{\"meta\":{\"count\":1},\"data\":[{\"type\":\"location\",\"subType\":\"AIRPORT\",\"name\":\"" + keyword
+                + "\",\"iataCode\":\"" + keyword + "\",\"address\":{\"cityCode\":\"" + keyword + "\"}}]}";
+    }
+
+    // ===== helpers =====
+
+    private void handle(HttpExchange ex, String endpoint, Handler handler) throws IOException {
+        try (ex) {
+            Map<String, String> query = query(ex.getRequestURI().getRawQuery());
+            ex.getRequestBody().readAllBytes();
+
+            sleep(latency(endpoint));
+            served.get(endpoint).incrementAndGet();
+
+            if (!"token".equals(endpoint)) {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                if (random.nextDouble() < options.rate("throttle-rate", endpoint)) {
+                    ex.getResponseHeaders().add("Retry-After", "1");
+                    send(ex, 429, "{\"errors\":[{\"status\":429,\"code\":38194,\"title\":\"Too many requests\"}]}");
+                    return;
+                }
+                if (random.nextDouble() < options.rate("error-rate", endpoint)) {
+                    send(ex, 500, "{\"errors\":[{\"status\":500,\"code\":141,\"title\":\"SYSTEM ERROR HAS OCCURRED\"}]}");
+                    return;
+                }
+            }
+            send(ex, 200, handler.respond(query));
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** 중앙값/p99 를 맞추는 log-normal 샘플 */
+    private Duration latency(String endpoint) {
+        String[] spec = options.value("latency." + endpoint, DEFAULT_LATENCY.get(endpoint)).split("/");
+        double median = Options.duration(spec[0]).toNanos();
+        double p99 = Options.duration(spec[1]).toNanos();
+        double sigma = Math.log(Math.max(p99, median) / median) / 2.326;
+        double sample = median * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian());
+        return Duration.ofNanos((long) sample);
+    }
+
+    /** 같은 key 면 항상 같은 배율(0.6 ~ 2.0) — 목적지마다 가격 순위가 갈리도록 */
+    private static String scalePrices(String body, String key) {
+        double factor = 0.6 + Math.floorMod(key.hashCode(), 141) / 100.0;
+        Matcher m = MONEY.matcher(body);
+        return m.replaceAll(r -> "\"" + r.group(1) + "\": \""
+                + String.format(Locale.ROOT, "%.2f", Double.parseDouble(r.group(2)) * factor) + "\"");
+    }
+
+    private static void send(HttpExchange ex, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().add("Content-Type", "application/json");
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> query(String raw) {
+        Map<String, String> query = new HashMap<>();
+        if (raw == null) return query;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) continue;
+            query.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String fixture(String name) throws IOException {
+        try (InputStream in = AmadeusStubServer.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) throw new IllegalStateException("fixture 없음: " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        String respond(Map<String, String> query);
+    }
+}
@@ -0,0 +1,64 @@
+package com.baru.backend.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * --key=value 형태의 실행 인자.
+ */
+final class Options {
+
+    private final Map<String, String> values;
+
+    private Options(Map<String, String> values) {
+        this.values = values;
+    }
+
+    static Options parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("--key=value 형태가 아님: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) values.put(arg.substring(2), "true");
+            else values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new Options(values);
+    }
+
+    String value(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    int intValue(String key, int defaultValue) {
+        String v = values.get(key);
+        return v == null ? defaultValue : Integer.parseInt(v);
+    }
+
+    double doubleValue(String key, double defaultValue) {
+        String v = values.get(key);
+        return v == null ? defaultValue : Double.parseDouble(v);
+    }
+
+    Duration durationValue(String key, Duration defaultValue) {
+        String v = values.get(key);
+        return v == null ? defaultValue : duration(v);
+    }
+
+    /** name.endpoint 가 있으면 그 값, 없으면 name 전체 값, 둘 다 없으면 0 */
+    double rate(String name, String endpoint) {
+        String v = values.getOrDefault(name + "." + endpoint, values.get(name));
+        return v == null ? 0 : Double.parseDouble(v);
+    }
+
+    /** 300ms / 2s / 1m */
+    static Duration duration(String text) {
+        String v = text.trim().toLowerCase();
+        if (v.endsWith("ms")) return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        if (v.endsWith("s")) return Duration.ofMillis((long) (Double.parseDouble(v.substring(0, v.length() - 1)) * 1000));
+        if (v.endsWith("m")) return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        return Duration.ofMillis(Long.parseLong(v));
+    }
+}
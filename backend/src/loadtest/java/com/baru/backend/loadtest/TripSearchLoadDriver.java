@@ -0,0 +1,142 @@
+package com.baru.backend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * /api/trips/search 에 목표 RPS 로 요청을 고정 간격으로 보내는(open-loop) 부하 발생기.
+ * 응답을 기다리지 않고 다음 요청을 보내므로 서버가 느려져도 보내는 속도는 그대로다.
+ *
+ *  --url=http://localhost:8080/api/trips/search
+ *  --rps=20 --duration=60s --warmup=10s (warmup 구간은 통계에서 제외)
+ *  --variants=30   서로 다른 출발일 개수(1 이면 모든 요청이 같은 조건 → single-flight 로 합쳐짐)
+ *  --budget=1500000 --people=1 --origin=ICN --nights=3 --timeout=30s
+ *
+ * 실행: ./gradlew loadTest --args="--rps=50 --duration=2m"
+ */
+public final class TripSearchLoadDriver {
+
+    public static void main(String[] args) throws InterruptedException {
+        Options options = Options.parse(args);
+
+        URI url = URI.create(options.value("url", "http://localhost:8080/api/trips/search"));
+        double rps = options.doubleValue("rps", 20);
+        Duration duration = options.durationValue("duration", Duration.ofSeconds(60));
+        Duration warmup = options.durationValue("warmup", Duration.ofSeconds(10));
+        Duration timeout = options.durationValue("timeout", Duration.ofSeconds(30));
+        int variants = Math.max(1, options.intValue("variants", 30));
+        int budget = options.intValue("budget", 1_500_000);
+        int people = options.intValue("people", 1);
+        int nights = options.intValue("nights", 3);
+        String origin = options.value("origin", "ICN");
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        long total = (long) (rps * (warmup.toMillis() + duration.toMillis()) / 1000.0);
+        long warmupUntil = System.nanoTime() + warmup.toNanos();
+        long periodNanos = (long) (1_000_000_000L / rps);
+
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+        LongAdder ok = new LongAdder();
+        AtomicLong sent = new AtomicLong();
+        CountDownLatch done = new CountDownLatch((int) total);
+        LocalDate baseDate = LocalDate.now().plusDays(30);
+
+        System.out.printf("[LOAD] %s rps=%.1f warmup=%s duration=%s variants=%d%n", url, rps, warmup, duration, variants);
+
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+        AtomicLong measuredStart = new AtomicLong();
+        ticker.scheduleAtFixedRate(() -> {
+            long n = sent.getAndIncrement();
+            if (n >= total) return;
+
+            LocalDate depart = baseDate.plusDays(n % variants);
+            String body = """
+                    {"budgetWon":%d,"people":%d,"departDate":"%s","returnDate":"%s","domestic":false,"originLocationCode":"%s"}"""
+                    .formatted(budget, people, depart, depart.plusDays(nights), origin);
+
+            HttpRequest request = HttpRequest.newBuilder(url)
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+
+            long start = System.nanoTime();
+            boolean measured = start >= warmupUntil;
+            if (measured) measuredStart.compareAndSet(0, start);
+
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long elapsed = System.nanoTime() - start;
+                        if (measured) {
+                            if (error != null) {
+                                String key = error.getCause() instanceof HttpTimeoutException ? "timeout" : error.getClass().getSimpleName();
+                                failures.computeIfAbsent(key, k -> new LongAdder()).increment();
+                            } else if (response.statusCode() >= 400) {
+                                failures.computeIfAbsent(String.valueOf(response.statusCode()), k -> new LongAdder()).increment();
+                            } else {
+                                ok.increment();
+                                latencies.add(elapsed);
+                            }
+                        }
+                        done.countDown();
+                    });
+        }, 0, periodNanos, TimeUnit.NANOSECONDS);
+
+        done.await(warmup.toMillis() + duration.toMillis() + timeout.toMillis() + 5_000, TimeUnit.MILLISECONDS);
+        long measuredNanos = System.nanoTime() - measuredStart.get();
+        ticker.shutdownNow();
+
+        report(latencies, failures, ok.sum(), measuredNanos);
+        System.exit(0);
+    }
+
+    private static void report(
+            ConcurrentLinkedQueue<Long> latencies,
+            Map<String, LongAdder> failures,
+            long ok,
+            long measuredNanos
+    ) {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+
+        long failed = failures.values().stream().mapToLong(LongAdder::sum).sum();
+        Map<String, Long> byCause = new TreeMap<>();
+        failures.forEach((k, v) -> byCause.put(k, v.sum()));
+
+        double seconds = measuredNanos / 1e9;
+        System.out.println("[LOAD] ===== result (warmup 제외) =====");
+        System.out.printf("[LOAD] requests=%d ok=%d failed=%d %s%n", ok + failed, ok, failed, byCause);
+        System.out.printf("[LOAD] throughput=%.1f ok/s over %.1fs%n", ok / seconds, seconds);
+        System.out.printf("[LOAD] latency ms p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+}
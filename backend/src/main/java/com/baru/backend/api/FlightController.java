@@ -1,7 +1,10 @@
 package com.baru.backend.api;
 
 import com.baru.backend.service.amadeus.AmadeusFlightService;
+import com.baru.backend.service.amadeus.CallPriority;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import java.util.Map;
 
@@ -15,8 +18,9 @@ public class FlightController {
         this.amadeusFlightService = amadeusFlightService;
     }
 
+    /** 논블로킹: 요청 스레드는 바로 돌려주고 응답은 WebClient 이벤트 루프에서 채운다 */
     @GetMapping("/offers")
-    public Map<String, Object> offers(
+    public Mono<Map<String, Object>> offers(
             @RequestParam String originLocationCode,
             @RequestParam String destinationLocationCode,
             @RequestParam String departureDate,
@@ -25,21 +29,39 @@ public class FlightController {
             @RequestParam(defaultValue = "5") int max,
             @RequestParam(defaultValue = "KRW") String currencyCode
     ) {
+        // 사용자가 직접 기다리는 조회 → rate limit 대기열에서 검색 fan-out 보다 먼저
         if (returnDate == null || returnDate.isBlank()) {
-            return amadeusFlightService.searchOffersOneWay(
+            return CallPriority.INTERACTIVE.run(amadeusFlightService.searchOffersOneWayReactive(
                     originLocationCode, destinationLocationCode, departureDate, adults, max, currencyCode
-            );
+            ));
         }
-        return amadeusFlightService.searchOffersRoundTrip(
+        return CallPriority.INTERACTIVE.run(amadeusFlightService.searchOffersRoundTripReactive(
                 originLocationCode, destinationLocationCode, departureDate, returnDate, adults, max, currencyCode
-        );
+        ));
     }
 
     @GetMapping("/direct-destinations")
-    public Map<String, Object> directDestinations(
+    public Mono<Map<String, Object>> directDestinations(
             @RequestParam String departureAirportCode,
             @RequestParam(defaultValue = "50") int max
     ) {
-        return amadeusFlightService.directDestinations(departureAirportCode, max);
+        return CallPriority.INTERACTIVE.run(amadeusFlightService.directDestinationsReactive(departureAirportCode, max));
+    }
+
+    @GetMapping("/cache-stats")
+    public Map<String, Object> cacheStats() {
+        return Map.of(
+                "search", toMap(amadeusFlightService.offerCacheStats()),
+                "raw", toMap(amadeusFlightService.rawOfferCacheStats())
+        );
+    }
+
+    private Map<String, Object> toMap(CacheStats stats) {
+        return Map.of(
+                "hits", stats.hitCount(),
+                "misses", stats.missCount(),
+                "hitRate", stats.hitRate(),
+                "evictions", stats.evictionCount()
+        );
     }
 }
@@ -1,22 +1,73 @@
 package com.baru.backend.api;
 
+import com.baru.backend.dto.trip.FlexibleTripSearchResponse;
+import com.baru.backend.dto.trip.TripBatchSearchResponse;
+import com.baru.backend.dto.trip.TripSearchEvent;
 import com.baru.backend.dto.trip.TripSearchRequest;
 import com.baru.backend.dto.trip.TripSearchResponse;
+import com.baru.backend.service.BatchTripSearchService;
+import com.baru.backend.service.FlexibleTripSearchService;
 import com.baru.backend.service.TripSearchService;
+import com.baru.backend.service.TripSearchStreamService;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/trips")
 public class TripController {
 
     private final TripSearchService tripSearchService;
+    private final FlexibleTripSearchService flexibleTripSearchService;
+    private final BatchTripSearchService batchTripSearchService;
+    private final TripSearchStreamService tripSearchStreamService;
 
-    public TripController(TripSearchService tripSearchService) {
+    public TripController(
+            TripSearchService tripSearchService,
+            FlexibleTripSearchService flexibleTripSearchService,
+            BatchTripSearchService batchTripSearchService,
+            TripSearchStreamService tripSearchStreamService
+    ) {
         this.tripSearchService = tripSearchService;
+        this.flexibleTripSearchService = flexibleTripSearchService;
+        this.batchTripSearchService = batchTripSearchService;
+        this.tripSearchStreamService = tripSearchStreamService;
     }
 
+    /** 논블로킹: 검색이 끝날 때까지 요청 스레드를 잡지 않는다 */
     @PostMapping("/search")
-    public TripSearchResponse search(@RequestBody TripSearchRequest req) {
-        return tripSearchService.search(req);
+    public Mono<TripSearchResponse> search(@RequestBody TripSearchRequest req) {
+        return tripSearchService.searchReactive(req);
+    }
+
+    /** ±flexDays 일 안에서 가장 싼 날짜 조합: 목적지별 (가는 날 × 오는 날) 가격표 */
+    @PostMapping("/search/flexible")
+    public Mono<FlexibleTripSearchResponse> searchFlexible(@RequestBody TripSearchRequest req) {
+        return flexibleTripSearchService.searchFlexible(req);
+    }
+
+    /** 검색 여러 건을 한 번에: 환율 / 목적지 후보 / 항공권 / 호텔 조회를 요청끼리 공유, 결과는 요청 순서대로 */
+    @PostMapping("/search/batch")
+    public Mono<TripBatchSearchResponse> searchBatch(@RequestBody List<TripSearchRequest> reqs) {
+        return batchTripSearchService.searchBatch(reqs);
+    }
+
+    /** 목적지별 카드가 나오는 대로 SSE 로 흘려보내고 마지막에 summary 이벤트 */
+    @PostMapping(value = "/search/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<TripSearchEvent>> searchStream(@RequestBody TripSearchRequest req) {
+        return tripSearchStreamService.searchStream(req)
+                .map(event -> ServerSentEvent.builder(event)
+                        .event(event.getType())
+                        .build());
+    }
+
+    /** 같은 스트림을 NDJSON(한 줄에 이벤트 1개)으로 */
+    @PostMapping(value = "/search/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TripSearchEvent> searchNdjson(@RequestBody TripSearchRequest req) {
+        return tripSearchStreamService.searchStream(req);
     }
 }
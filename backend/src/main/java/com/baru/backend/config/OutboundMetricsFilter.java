@@ -0,0 +1,87 @@
+package com.baru.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 외부 호출 1건당 응답 헤더까지 걸린 시간을 outbound.requests 타이머(histogram)로 기록.
+ * 태그: host / endpoint / outcome(SUCCESS, CLIENT_ERROR, SERVER_ERROR, TIMEOUT, IO_ERROR, CANCELLED) / status
+ * endpoint 는 요청 attribute 로 넘긴다: .attribute(OutboundMetricsFilter.ENDPOINT, "flight-offers")
+ */
+@Component
+public class OutboundMetricsFilter implements ExchangeFilterFunction {
+
+    public static final String ENDPOINT = OutboundMetricsFilter.class.getName() + ".endpoint";
+
+    private final MeterRegistry registry;
+
+    public OutboundMetricsFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String host = request.url().getHost();
+        String endpoint = request.attribute(ENDPOINT).map(Object::toString).orElse("unknown");
+
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            AtomicBoolean recorded = new AtomicBoolean(); // 응답/에러/취소 중 먼저 온 것 하나만 기록
+
+            return next.exchange(request)
+                    .doOnNext(response -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            int status = response.statusCode().value();
+                            record(sample, host, endpoint, outcomeOf(status), String.valueOf(status));
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            record(sample, host, endpoint, isTimeout(e) ? "TIMEOUT" : "IO_ERROR", "NONE");
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        // top-K 가지치기 / 검색 timeout 으로 구독이 끊긴 경우
+                        if (recorded.compareAndSet(false, true)) {
+                            record(sample, host, endpoint, "CANCELLED", "NONE");
+                        }
+                    });
+        });
+    }
+
+    // ===== helpers =====
+
+    private void record(Timer.Sample sample, String host, String endpoint, String outcome, String status) {
+        sample.stop(Timer.builder("outbound.requests")
+                .description("Outbound HTTP latency until response headers")
+                .tag("host", host)
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private static String outcomeOf(int status) {
+        if (status >= 500) return "SERVER_ERROR";
+        if (status >= 400) return "CLIENT_ERROR";
+        return "SUCCESS";
+    }
+
+    private static boolean isTimeout(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ReadTimeoutException || t instanceof TimeoutException) return true;
+        }
+        return false;
+    }
+}
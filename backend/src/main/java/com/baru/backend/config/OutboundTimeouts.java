@@ -0,0 +1,45 @@
+package com.baru.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.client.HttpClientRequest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 엔드포인트별 응답 timeout. http.client.timeouts.&lt;key&gt; (예: flight-offers=8s), 없으면 http.client.response-timeout.
+ * 사용: webClient.get()...httpRequest(outboundTimeouts.responseTimeout("flight-offers"))
+ */
+@Component
+public class OutboundTimeouts {
+
+    private final Environment env;
+    private final Duration defaultTimeout;
+    private final Map<String, Duration> resolved = new ConcurrentHashMap<>();
+
+    public OutboundTimeouts(
+            Environment env,
+            @Value("${http.client.response-timeout:15s}") Duration defaultTimeout
+    ) {
+        this.env = env;
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public Duration of(String key) {
+        return resolved.computeIfAbsent(key, k ->
+                env.getProperty("http.client.timeouts." + k, Duration.class, defaultTimeout));
+    }
+
+    public Consumer<ClientHttpRequest> responseTimeout(String key) {
+        Duration timeout = of(key);
+        return request -> {
+            HttpClientRequest reactorRequest = request.getNativeRequest();
+            reactorRequest.responseTimeout(timeout);
+        };
+    }
+}
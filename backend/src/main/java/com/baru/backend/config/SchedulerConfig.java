@@ -0,0 +1,33 @@
+package com.baru.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+public class SchedulerConfig {
+
+    /**
+     * Amadeus 블로킹 호출(.block())을 돌리는 전용 스케줄러. 스레드 수 = 동시 외부 호출 상한.
+     * spring.threads.virtual.enabled=true 면 호출마다 가상 스레드 — 대기 중에는 캐리어 스레드를 놓아주므로
+     * 스레드 수 상한이 없고, 동시 호출량은 AmadeusRateLimiter 가 조절한다.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler amadeusScheduler(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${amadeus.io.threads:64}") int threads,
+            @Value("${amadeus.io.queue-capacity:1000}") int queueCapacity
+    ) {
+        if (virtualThreads) {
+            return Schedulers.fromExecutorService(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("amadeus-io-", 0).factory()),
+                    "amadeus-io"
+            );
+        }
+        return Schedulers.newBoundedElastic(threads, queueCapacity, "amadeus-io");
+    }
+}
@@ -1,13 +1,124 @@
 package com.baru.backend.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.webclient.WebClientCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 모든 외부 호출(Amadeus, 환율)이 같이 쓰는 HTTP 클라이언트.
+ * 커넥션 풀은 원격 호스트별로 따로 잡히고, 풀 지표(active/pending/idle)는 Micrometer 로 나간다.
+ * WebClient.Builder 는 Boot 자동 설정 것을 그대로 쓰고(다른 customizer / 공용 codec 유지) 여기서는 customizer 로 덧붙이기만 한다.
+ */
 @Configuration
 public class WebClientConfig {
+
+    @Value("${http.client.max-connections:100}")
+    private int maxConnections;                 // 호스트당 최대 커넥션
+
+    @Value("#{${http.client.host-max-connections:{:}}}")
+    private Map<String, Integer> hostMaxConnections; // 호스트별 덮어쓰기 {'test.api.amadeus.com':50}
+
+    // host-max-connections 의 포트는 그 호스트를 부르는 base URL 에서(http / 8089 같은 stub 도 같은 풀 설정)
+    @Value("${amadeus.base-url}")
+    private String amadeusBaseUrl;
+
+    @Value("${exchange.api.base}")
+    private String exchangeBaseUrl;
+
+    @Value("${http.client.pending-acquire-max-count:500}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${http.client.pending-acquire-timeout:5s}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${http.client.max-idle-time:30s}")
+    private Duration maxIdleTime;
+
+    @Value("${http.client.max-life-time:5m}")
+    private Duration maxLifeTime;
+
+    @Value("${http.client.evict-interval:30s}")
+    private Duration evictInterval;
+
+    @Value("${http.client.connect-timeout:3s}")
+    private Duration connectTimeout;
+
+    @Value("${http.client.response-timeout:15s}")
+    private Duration responseTimeout;           // 기본값. 엔드포인트별은 OutboundTimeouts
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider outboundConnectionProvider() {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("outbound")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInterval)
+                .metrics(true);
+
+        hostMaxConnections.forEach((host, max) -> remoteAddresses(host).forEach(address -> builder.forRemoteHost(
+                address,
+                spec -> spec.maxConnections(max)
+        )));
+        return builder.build();
+    }
+
+    @Bean
+    public ReactorClientHttpConnector outboundConnector(ConnectionProvider outboundConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(outboundConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .compress(true)   // Accept-Encoding: gzip
+                .responseTimeout(responseTimeout);
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    /** Boot 의 WebClient.Builder(주입할 때마다 새 builder, 서비스마다 baseUrl 을 따로 잡음)에 공용 커넥터 / 지표 필터를 붙임 */
     @Bean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+    public WebClientCustomizer outboundWebClientCustomizer(
+            ReactorClientHttpConnector outboundConnector,
+            OutboundMetricsFilter outboundMetricsFilter
+    ) {
+        return builder -> builder
+                .clientConnector(outboundConnector)
+                .filter(outboundMetricsFilter)
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(2 * 1024 * 1024));
+    }
+
+    // ===== helpers =====
+
+    /** 호스트를 부르는 base URL 들의 주소(포트 포함). "host:port" 로 적었거나 맞는 base URL 이 없으면 그대로 / https 443 */
+    private List<InetSocketAddress> remoteAddresses(String host) {
+        int colon = host.lastIndexOf(':');
+        if (colon > 0) {
+            int port = Integer.parseInt(host.substring(colon + 1));
+            return List.of(InetSocketAddress.createUnresolved(host.substring(0, colon), port));
+        }
+        List<InetSocketAddress> addresses = Stream.of(amadeusBaseUrl, exchangeBaseUrl)
+                .map(URI::create)
+                .filter(uri -> host.equalsIgnoreCase(uri.getHost()))
+                .map(uri -> InetSocketAddress.createUnresolved(uri.getHost(), port(uri)))
+                .distinct()
+                .toList();
+        return addresses.isEmpty() ? List.of(InetSocketAddress.createUnresolved(host, 443)) : addresses;
+    }
+
+    private static int port(URI uri) {
+        if (uri.getPort() > 0) return uri.getPort();
+        return "http".equalsIgnoreCase(uri.getScheme()) ? 80 : 443;
     }
 }
@@ -0,0 +1,45 @@
+package com.baru.backend.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "airport")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class Airport {
+
+    @Id
+    @Column(name = "iata_code", length = 3)
+    private String iataCode;        // ICN, NRT ...
+
+    @Column(name = "country_code", length = 2)
+    private String countryCode;     // KR, JP ...
+
+    @Column(name = "city_code", length = 3)
+    private String cityCode;        // SEL, TYO ...
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public Airport(String iataCode, String countryCode, String cityCode) {
+        this.iataCode = iataCode;
+        this.countryCode = countryCode;
+        this.cityCode = cityCode;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /** 새로 알게 된 값만 덮어씀(null 로 기존 값을 지우지 않음) */
+    public void update(String countryCode, String cityCode) {
+        if (countryCode != null) this.countryCode = countryCode;
+        if (cityCode != null) this.cityCode = cityCode;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,39 @@
+package com.baru.backend.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** 출발 공항 → 직항 목적지 1건 (Airport Routes API 결과) */
+@Entity
+@Table(
+        name = "airport_route",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"origin_iata", "destination_iata"})
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class AirportRoute {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "origin_iata", length = 3, nullable = false)
+    private String originIata;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "destination_iata", nullable = false)
+    private Airport destination;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+
+    public AirportRoute(String originIata, Airport destination) {
+        this.originIata = originIata;
+        this.destination = destination;
+        this.refreshedAt = LocalDateTime.now();
+    }
+}
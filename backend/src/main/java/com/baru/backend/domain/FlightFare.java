@@ -0,0 +1,84 @@
+package com.baru.backend.domain;
+
+import com.baru.backend.dto.flight.FlightOffer;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** 편도 구간(출발 → 도착, 날짜, 인원) 최저가 1건. 가격 캘린더 갱신 또는 검색 중 실시간 조회로 채워짐 */
+@Entity
+@Table(
+        name = "flight_fare",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"origin_iata", "destination_iata", "departure_date", "adults"}),
+        indexes = @Index(name = "idx_flight_fare_destination_date", columnList = "destination_iata, departure_date")
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class FlightFare {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "origin_iata", length = 3, nullable = false)
+    private String originIata;
+
+    @Column(name = "destination_iata", length = 3, nullable = false)
+    private String destinationIata;
+
+    @Column(name = "departure_date", nullable = false)
+    private LocalDate departureDate;
+
+    @Column(nullable = false)
+    private int adults;
+
+    @Column(length = 3)
+    private String currency;        // 항공편 없으면 null
+
+    private Double total;           // 항공편 없으면 null
+
+    @Convert(converter = FlightOfferJsonConverter.class)
+    @Column(name = "cheapest_offer", columnDefinition = "TEXT")
+    private FlightOffer cheapestOffer;  // null = 그날 항공편 없음(다시 조회하지 않도록 같이 저장)
+
+    @Column(name = "fetched_at", nullable = false)
+    private LocalDateTime fetchedAt;    // Amadeus 에서 실제로 받은 시각(저장 시각 아님)
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Source source;              // null = 컬럼이 생기기 전 행(LIVE 로 취급)
+
+    public FlightFare(
+            String originIata, String destinationIata, LocalDate departureDate, int adults,
+            FlightOffer cheapestOffer, Source source, LocalDateTime fetchedAt
+    ) {
+        this.originIata = originIata;
+        this.destinationIata = destinationIata;
+        this.departureDate = departureDate;
+        this.adults = adults;
+        update(cheapestOffer, source, fetchedAt);
+    }
+
+    public void update(FlightOffer cheapestOffer, Source source, LocalDateTime fetchedAt) {
+        this.cheapestOffer = cheapestOffer;
+        this.currency = cheapestOffer == null ? null : cheapestOffer.currency();
+        this.total = cheapestOffer == null ? null : cheapestOffer.total();
+        this.source = source;
+        this.fetchedAt = fetchedAt;
+    }
+
+    /** 이미 더 최근에 받은 값이면 true(늦게 도착한 쓰기가 덮어쓰지 않도록) */
+    public boolean isNewerThan(LocalDateTime fetchedAt) {
+        return this.fetchedAt != null && this.fetchedAt.isAfter(fetchedAt);
+    }
+
+    /** CALENDAR: 가격 캘린더 갱신 / LIVE: 검색 중 실시간 조회(write-behind) — 검색에서 쓰는 max-age 가 다름 */
+    public enum Source {
+        CALENDAR,
+        LIVE
+    }
+}
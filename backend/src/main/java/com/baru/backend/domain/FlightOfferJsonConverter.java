@@ -0,0 +1,34 @@
+package com.baru.backend.domain;
+
+import com.baru.backend.dto.flight.FlightOffer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/** FlightOffer ↔ JSON 문자열 (flight_fare.cheapest_offer) */
+@Converter
+public class FlightOfferJsonConverter implements AttributeConverter<FlightOffer, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Override
+    public String convertToDatabaseColumn(FlightOffer offer) {
+        if (offer == null) return null;
+        try {
+            return MAPPER.writeValueAsString(offer);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("FlightOffer 직렬화 실패", e);
+        }
+    }
+
+    @Override
+    public FlightOffer convertToEntityAttribute(String json) {
+        if (json == null || json.isBlank()) return null;
+        try {
+            return MAPPER.readValue(json, FlightOffer.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("FlightOffer 역직렬화 실패", e);
+        }
+    }
+}
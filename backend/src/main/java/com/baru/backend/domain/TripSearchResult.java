@@ -0,0 +1,43 @@
+package com.baru.backend.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** 검색 조건 1개의 TripSearchResponse (JSON). 재시작/다른 노드에서 Amadeus 대신 읽어가는 용도 */
+@Entity
+@Table(
+        name = "trip_search_result",
+        uniqueConstraints = @UniqueConstraint(columnNames = "search_key"),
+        indexes = @Index(name = "idx_trip_search_result_searched_at", columnList = "searched_at")
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class TripSearchResult {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "search_key", length = 200, nullable = false)
+    private String searchKey;
+
+    @Column(name = "response_json", columnDefinition = "LONGTEXT", nullable = false)
+    private String responseJson;
+
+    @Column(name = "searched_at", nullable = false)
+    private LocalDateTime searchedAt;
+
+    public TripSearchResult(String searchKey, String responseJson, LocalDateTime searchedAt) {
+        this.searchKey = searchKey;
+        update(responseJson, searchedAt);
+    }
+
+    public void update(String responseJson, LocalDateTime searchedAt) {
+        this.responseJson = responseJson;
+        this.searchedAt = searchedAt;
+    }
+}
@@ -0,0 +1,26 @@
+package com.baru.backend.dto.flight;
+
+import java.util.List;
+
+/** flight-offers 응답에서 실제로 쓰는 필드만 담은 offer 1건 */
+public record FlightOffer(
+        String currency,        // KRW 등
+        double total,           // price.total ("140.40" → 140.40)
+        List<Itinerary> itineraries
+) {
+
+    /** 편도면 1개, 왕복이면 [가는편, 오는편] */
+    public record Itinerary(
+            int durationMinutes,
+            List<Segment> segments
+    ) {}
+
+    public record Segment(
+            String carrierCode,   // KE
+            String number,        // 703
+            String from,          // ICN
+            String departureAt,   // 2026-01-10T06:05:00
+            String to,            // NRT
+            String arrivalAt      // 2026-01-10T07:35:00
+    ) {}
+}
@@ -0,0 +1,29 @@
+package com.baru.backend.dto.trip;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/** ±N일 검색 결과: 목적지별 (가는 날 × 오는 날) 항공권 가격표 */
+@Getter
+@Builder
+public class FlexibleTripSearchResponse {
+
+    private TripSearchRequest requested;
+    private TripSearchResponse.Exchange exchange;
+    private TripSearchResponse.Budget budget;      // 가장 싼 조합 기준(항공권만)
+    private List<String> departDates;              // 가격표 행
+    private List<String> returnDates;              // 가격표 열
+    private List<DestinationMatrix> destinations;  // 최저가 낮은 순
+
+    @Getter
+    @Builder
+    public static class DestinationMatrix {
+        private String arrivalAirport;
+        private List<List<Integer>> pricesWon;     // [departDates][returnDates] 왕복 총액. 항공편 없음/오는 날 ≤ 가는 날이면 null
+        private String cheapestDepartDate;
+        private String cheapestReturnDate;
+        private TripSearchResponse.FlightCard cheapest;  // 예산 안에서 가장 싼 조합
+    }
+}
@@ -0,0 +1,30 @@
+package com.baru.backend.dto.trip;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/** 배치 검색 결과: 요청 순서대로 결과 1개씩(잘못된 요청은 null + 같은 자리의 errors) + 실제로 나간 하위 호출 수 */
+@Getter
+@Builder
+public class TripBatchSearchResponse {
+
+    private List<TripSearchResponse> results;   // requests[i] 의 결과. 잘못된 요청이면 null
+    private List<String> errors;                // results 와 같은 순서. 잘못된 요청이면 사유(400 메시지), 아니면 null
+    private Plan plan;
+
+    @Getter
+    @Builder
+    public static class Plan {
+        private int requests;
+        private int reused;            // 로컬 캐시 / DB(trip_search_result)에 있던 결과(하위 호출 없음)
+        private int rejected;          // 잘못된 요청(errors 에 사유)
+        private int routeLookups;      // 서로 다른 (출발공항, 국내/국외) 후보 조회
+        private int legUses;           // 요청별로 필요한 항공권 조회를 다 더한 수(중복 포함)
+        private int flightCalls;       // 중복을 뺀 항공권 조회(편도/왕복) = 실제 호출 상한
+        private int skippedCalls;      // max-calls 를 넘어서 안 한 조회
+        private int hotelCalls;        // 서로 다른 (목적지, 날짜, 인원) 호텔 조회
+        private int skippedHotels;     // batch.hotel-timeout 을 넘겨서 못 받은 호텔 조회
+    }
+}
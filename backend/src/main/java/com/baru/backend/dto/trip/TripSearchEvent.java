@@ -0,0 +1,34 @@
+package com.baru.backend.dto.trip;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/** /api/trips/search/stream 이벤트 1건 (SSE event / NDJSON line) */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TripSearchEvent {
+
+    public static final String FLIGHT = "flight";
+    public static final String HOTEL = "hotel";
+    public static final String SUMMARY = "summary";
+
+    private String type;                                // "flight" | "hotel" | "summary"
+    private String destination;                         // type=flight/hotel: 목적지 공항(= flight.arrivalAirport)
+
+    // type=flight: 항공권 가격이 나온 목적지 1곳
+    private TripSearchResponse.FlightCard flight;
+
+    // type=hotel: 먼저 나간 flight 이벤트와 같은 destination 의 호텔. 못 구하면 이벤트 없음
+    private TripSearchResponse.HotelCard hotel;
+
+    // type=summary: 마지막 1번. 최종 결과(가격 낮은 순, search 응답과 같은 모양)로 화면을 다시 그리면 됨
+    private TripSearchResponse.Exchange exchange;
+    private TripSearchResponse.Budget budget;
+    private List<TripSearchResponse.FlightCard> flights;
+    private List<TripSearchResponse.HotelCard> hotels;  // search 응답과 같음(호텔을 구한 목적지만, null 없음)
+    private List<String> evicted;                       // flight 이벤트로 나갔지만 최종 결과에서 빠진 destination
+}
@@ -2,6 +2,8 @@ package com.baru.backend.dto.trip;
 
 import lombok.*;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -15,5 +17,7 @@ public class TripSearchRequest {
     // 선택 파라미터(프론트가 아직 안 보내도 기본값 처리)
     private Boolean domestic;             // 국내=true, 국외=false
     private String originLocationCode;    // 출발공항(예: ICN)
+    private List<String> originLocationCodes; // 출발공항 여러 개(예: ICN,GMP). 있으면 originLocationCode 대신
     private String destinationLocationCode; // 귀국공항(예: GMP)
+    private Integer flexDays;             // ±N일 검색(/search/flexible). 없으면 trip.search.flex.default-days
 }
@@ -1,22 +1,28 @@
 package com.baru.backend.dto.trip;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 import java.util.List;
 
+/** DB(trip_search_result)에 JSON 으로 저장했다가 다시 읽으므로 builder 로 역직렬화(@Jacksonized) */
 @Getter
-@Builder
+@Builder(toBuilder = true)
+@Jacksonized
 public class TripSearchResponse {
 
     private TripSearchRequest requested;
+    private String searchedAt;   // 실제로 검색한 시각(저장된 결과를 돌려줄 때도 그대로) — 결과가 얼마나 오래됐는지
     private Exchange exchange;
     private Budget budget;
     private List<FlightCard> flights;
-    private List<HotelCard> hotels;
+    private List<HotelCard> hotels;     // 호텔을 구한 목적지만, flights 와 같은 순서(null 없음). 어느 카드의 호텔인지는 flight.hotelIncluded
 
     @Getter
     @Builder
+    @Jacksonized
     public static class Exchange {
         private String base;     // "KRW"
         private Rates rates;
@@ -25,21 +31,27 @@ public class TripSearchResponse {
 
     @Getter
     @Builder
+    @Jacksonized
     public static class Rates {
-        private Double JPY;
+        @JsonProperty("jpy")
+        private Double JPY;     // 응답 필드명은 기존대로 jpy / usd
+        @JsonProperty("usd")
         private Double USD;
     }
 
     @Getter
     @Builder
+    @Jacksonized
     public static class Budget {
         private int budgetWon;
         private int estimatedTotalWon;
         private int remainingWon;
+        private boolean hotelIncluded;  // false 면 estimatedTotalWon 은 항공권만(호텔 가격이 있는 목적지가 없음)
     }
 
     @Getter
-    @Builder
+    @Builder(toBuilder = true)
+    @Jacksonized
     public static class FlightCard {
         private String airline;          // "KE"
         private int priceWon;           // 왕복(편도2개 합산) 총액
@@ -50,10 +62,12 @@ public class TripSearchResponse {
         private int durationMinutes;     // OUT 기준
         private int stops;               // OUT 기준
         private List<Segment> segments;  // OUT 기준(필요하면 IN도 확장 가능)
+        private boolean hotelIncluded;   // true 면 이 목적지의 호텔이 hotels 에 있음(hotelIncluded 인 카드 순서대로)
     }
 
     @Getter
     @Builder
+    @Jacksonized
     public static class Segment {
         private String flightNo;
         private String from;
@@ -64,6 +78,7 @@ public class TripSearchResponse {
 
     @Getter
     @Builder
+    @Jacksonized
     public static class HotelCard {
         private String hotelId;
         private String name;
@@ -0,0 +1,7 @@
+package com.baru.backend.repository;
+
+import com.baru.backend.domain.Airport;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AirportRepository extends JpaRepository<Airport, String> {
+}
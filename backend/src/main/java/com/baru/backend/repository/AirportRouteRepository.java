@@ -0,0 +1,18 @@
+package com.baru.backend.repository;
+
+import com.baru.backend.domain.AirportRoute;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface AirportRouteRepository extends JpaRepository<AirportRoute, Long> {
+
+    @Query("select r from AirportRoute r join fetch r.destination")
+    List<AirportRoute> findAllWithDestination();
+
+    @Modifying
+    @Query("delete from AirportRoute r where r.originIata = :originIata")
+    int deleteByOriginIata(String originIata);
+}
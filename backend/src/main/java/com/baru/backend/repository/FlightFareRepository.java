@@ -0,0 +1,26 @@
+package com.baru.backend.repository;
+
+import com.baru.backend.domain.FlightFare;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface FlightFareRepository extends JpaRepository<FlightFare, Long> {
+
+    List<FlightFare> findByOriginIataAndDepartureDateAndAdults(String originIata, LocalDate departureDate, int adults);
+
+    List<FlightFare> findByDestinationIataAndDepartureDateAndAdults(String destinationIata, LocalDate departureDate, int adults);
+
+    List<FlightFare> findByOriginIataAndDepartureDateBetweenAndAdults(
+            String originIata, LocalDate from, LocalDate to, int adults);
+
+    List<FlightFare> findByDestinationIataAndDepartureDateBetweenAndAdults(
+            String destinationIata, LocalDate from, LocalDate to, int adults);
+
+    @Modifying
+    @Query("delete from FlightFare f where f.departureDate < :date")
+    int deleteByDepartureDateBefore(LocalDate date);
+}
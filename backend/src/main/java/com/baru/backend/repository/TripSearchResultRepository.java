@@ -0,0 +1,22 @@
+package com.baru.backend.repository;
+
+import com.baru.backend.domain.TripSearchResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TripSearchResultRepository extends JpaRepository<TripSearchResult, Long> {
+
+    Optional<TripSearchResult> findBySearchKey(String searchKey);
+
+    List<TripSearchResult> findBySearchKeyIn(Collection<String> searchKeys);
+
+    @Modifying
+    @Query("delete from TripSearchResult r where r.searchedAt < :time")
+    int deleteBySearchedAtBefore(LocalDateTime time);
+}
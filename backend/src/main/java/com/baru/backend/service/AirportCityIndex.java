@@ -0,0 +1,102 @@
+package com.baru.backend.service;
+
+import com.baru.backend.domain.Airport;
+import com.baru.backend.repository.AirportRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 공항 IATA → 도시 코드 인덱스(ICN → SEL, NRT → TYO).
+ * 번들 CSV + airport 테이블을 기동 시 메모리로 올리고, 모르는 코드만 조회 후 채워 넣는다.
+ */
+@Slf4j
+@Service
+public class AirportCityIndex {
+
+    private static final String BUNDLED = "data/airport-cities.csv";
+
+    private final AirportRepository airportRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, String> cityByIata = new ConcurrentHashMap<>();
+
+    public AirportCityIndex(AirportRepository airportRepository, TransactionTemplate transactionTemplate) {
+        this.airportRepository = airportRepository;
+        this.transactionTemplate = transactionTemplate;
+        loadBundled();
+    }
+
+    /** 없으면 null */
+    public String cityCodeOf(String iata) {
+        if (iata == null) return null;
+        return cityByIata.get(iata.toUpperCase(Locale.ROOT));
+    }
+
+    /** 메모리에만 반영(이미 DB 에 있는 값을 다시 알게 된 경우) */
+    public void remember(String iata, String cityCode) {
+        if (iata == null || cityCode == null) return;
+        cityByIata.put(iata.toUpperCase(Locale.ROOT), cityCode.toUpperCase(Locale.ROOT));
+    }
+
+    /** 네트워크로 새로 알아낸 값: 메모리 + airport 테이블 */
+    public void learn(String iata, String cityCode) {
+        if (iata == null || cityCode == null) return;
+        remember(iata, cityCode);
+
+        String key = iata.toUpperCase(Locale.ROOT);
+        String city = cityCode.toUpperCase(Locale.ROOT);
+        try {
+            transactionTemplate.executeWithoutResult(status -> airportRepository.findById(key).ifPresentOrElse(
+                    airport -> airport.update(null, city),
+                    () -> airportRepository.save(new Airport(key, null, city))
+            ));
+        } catch (Exception e) {
+            log.warn("[AIRPORT] failed to persist city code {}={}", key, city, e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFromDatabase() {
+        try {
+            int before = cityByIata.size();
+            for (Airport airport : airportRepository.findAll()) {
+                remember(airport.getIataCode(), airport.getCityCode());
+            }
+            log.info("[AIRPORT] city index size={} (+{} from database)", cityByIata.size(), cityByIata.size() - before);
+        } catch (Exception e) {
+            log.warn("[AIRPORT] city index database load failed, using bundled data only", e);
+        }
+    }
+
+    // ===== helpers =====
+
+    private void loadBundled() {
+        ClassPathResource resource = new ClassPathResource(BUNDLED);
+        if (!resource.exists()) return;
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#") || line.startsWith("iata")) continue;
+                String[] cols = line.split(",");
+                if (cols.length < 2) continue;
+                remember(cols[0].trim(), cols[1].trim());
+            }
+        } catch (IOException e) {
+            log.warn("[AIRPORT] failed to read {}", BUNDLED, e);
+        }
+    }
+}
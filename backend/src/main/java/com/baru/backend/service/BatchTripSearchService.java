@@ -0,0 +1,363 @@
+package com.baru.backend.service;
+
+import com.baru.backend.dto.flight.FlightOffer;
+import com.baru.backend.dto.trip.TripBatchSearchResponse;
+import com.baru.backend.dto.trip.TripSearchRequest;
+import com.baru.backend.dto.trip.TripSearchResponse;
+import com.baru.backend.service.TripPricing.CallPlan;
+import com.baru.backend.service.TripPricing.Dest;
+import com.baru.backend.service.TripPricing.FlightCall;
+import com.baru.backend.service.TripPricing.HotelKey;
+import com.baru.backend.service.TripPricing.LegKey;
+import com.baru.backend.service.TripPricing.Origin;
+import com.baru.backend.service.TripPricing.PrepareMemo;
+import com.baru.backend.service.TripPricing.PreparedSearch;
+import com.baru.backend.service.TripPricing.PricedDestination;
+import com.baru.backend.service.TripPricing.RoundTripKey;
+import com.baru.backend.service.TripPricing.SearchContext;
+import com.baru.backend.service.TripResultCache.SearchKey;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/** 배치 검색: 요청 N건을 하나의 호출 계획으로. 가격 조회 / 카드 변환은 TripPricing, 결과 재사용은 TripResultCache */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchTripSearchService {
+
+    private final TripPricing pricing;
+    private final TripResultCache resultCache;
+    private final Scheduler amadeusScheduler;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${trip.search.batch.max-requests:500}")
+    private int batchMaxRequests;
+
+    @Value("${trip.search.batch.max-calls:2000}")
+    private int batchMaxCalls;       // 배치 1건의 항공권 조회 상한(여러 요청이 같이 쓰는 구간부터)
+
+    @Value("${trip.search.batch.concurrency:20}")
+    private int batchConcurrency;    // 배치 안에서 동시에 나가는 항공권/호텔 조회 수
+
+    @Value("${trip.search.batch.timeout:30s}")
+    private Duration batchTimeout;   // 항공권 조회 단계 시간 예산. 넘기면 그때까지 받은 것만으로 순위
+
+    @Value("${trip.search.batch.hotel-timeout:30s}")
+    private Duration batchHotelTimeout; // 호텔 조회 단계 시간 예산(단계 전체). 넘기면 남은 목적지는 호텔 없이
+
+    /**
+     * 배치 검색: 요청 N건에 필요한 하위 호출을 하나의 계획으로 모아서 서로 다른 것만 한 번씩 조회.
+     *  1) 환율 스냅샷 1번, 목적지 후보는 (출발공항, 국내/국외)마다, 캘린더는 (출발, 귀국, 날짜, 인원)마다 1번
+     *  2) 요청별 목적지 × 출발공항의 호출 계획(planFor)에서 서로 다른 편도/왕복만 — 여러 요청이 같이 쓰는 구간부터
+     *     max-calls 까지, 동시에 batch.concurrency 개, batch.timeout 안에 온 것만
+     *  3) 요청별 순위는 메모리에서, 호텔은 각 요청 top-K 목적지의 서로 다른 (목적지, 날짜, 인원)만
+     * 그래서 외부 호출 수는 요청 수가 아니라 서로 다른 구간 수에 비례한다.
+     * 로컬 캐시 / DB(trip_search_result)에 결과가 있는 요청은 그대로 돌려주고, 잘못된 요청은 그 자리만 errors 로.
+     */
+    public Mono<TripBatchSearchResponse> searchBatch(List<TripSearchRequest> reqs) {
+        if (reqs == null || reqs.isEmpty() || reqs.size() > batchMaxRequests) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "요청은 1 ~ " + batchMaxRequests + "건"));
+        }
+        return Mono.fromCallable(() -> reuseBatch(reqs))
+                .subscribeOn(Schedulers.boundedElastic()) // JDBC(trip_search_result) — Amadeus 호출용 스레드는 잡지 않음
+                .flatMap(reuse -> Mono.fromCallable(() -> prepareBatch(reuse))
+                        .subscribeOn(amadeusScheduler)) // 노선 그래프 miss / 캘린더 DB 조회
+                .flatMap(batch -> pricing.timedStage("pricing", fetchFlights(batch))
+                        .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                        .flatMap(offers -> priceBatch(batch, offers)));
+    }
+
+    /**
+     * 배치 1) 로컬 캐시 → DB 에 있는 결과는 그대로. 나머지는 prepareBatch 로.
+     * 요청 하나가 잘못됐으면(출발공항 수 / 날짜 형식 등) 배치 전체가 아니라 그 요청만 errors 로 뺀다.
+     */
+    private BatchReuse reuseBatch(List<TripSearchRequest> reqs) {
+        Map<Integer, String> errors = new HashMap<>();
+        Map<Integer, SearchKey> keys = new HashMap<>();
+        for (int i = 0; i < reqs.size(); i++) {
+            try {
+                keys.put(i, validBatchKey(reqs.get(i)));
+            } catch (ResponseStatusException e) {
+                errors.put(i, e.getReason());
+            }
+        }
+
+        Map<Integer, TripSearchResponse> reused = new HashMap<>();
+        Map<Integer, SearchKey> misses = new HashMap<>();
+        keys.forEach((i, key) -> {
+            TripSearchResponse local = resultCache.local(key);
+            if (local == null) {
+                misses.put(i, key);
+                return;
+            }
+            reused.put(i, TripResultCache.echo(local, reqs.get(i)));
+        });
+        Map<SearchKey, TripSearchResponse> stored = resultCache.stored(misses.values());
+
+        Map<Integer, SearchKey> searches = new HashMap<>();
+        misses.forEach((i, key) -> {
+            TripSearchResponse fromDb = stored.get(key);
+            if (fromDb == null) {
+                searches.put(i, key);
+                return;
+            }
+            reused.put(i, TripResultCache.echo(fromDb, reqs.get(i)));
+        });
+        return new BatchReuse(reqs, errors, reused, searches);
+    }
+
+    /** 배치 2) 나머지 요청별 prepare(조회는 memo 로 공유) 3) 목적지 × 출발공항 호출 계획 → 서로 다른 항공권 조회 */
+    private BatchPrepared prepareBatch(BatchReuse reuse) {
+        List<TripSearchRequest> reqs = reuse.requests();
+        Map<Integer, String> errors = new HashMap<>(reuse.errors());
+        Map<Integer, TripSearchResponse> reused = reuse.reused();
+
+        PrepareMemo memo = pricing.memo();
+        Map<Integer, PreparedSearch> prepared = new HashMap<>();
+        Map<Integer, List<DestinationPlan>> plans = new HashMap<>();
+        reuse.searches().keySet().forEach(i -> {
+            try {
+                PreparedSearch p = pricing.prepare(reqs.get(i), memo);
+                prepared.put(i, p);
+                plans.put(i, plansOf(p));
+            } catch (ResponseStatusException e) {
+                errors.put(i, e.getReason());
+            } catch (RuntimeException e) {
+                log.warn("[TRIP] batch request {} prepare failed: {}", i, e.toString());
+                errors.put(i, "검색 준비 실패");
+            }
+        });
+        if (!errors.isEmpty()) meterRegistry.counter("trip.search.batch.rejected").increment(errors.size());
+
+        // 구간별로 그 구간을 쓰는 (요청, 목적지, 출발공항) 수
+        Map<FlightCall, Integer> demand = new HashMap<>();
+        plans.forEach((i, destinations) -> destinations.forEach(dp -> dp.origins().forEach(op ->
+                callsOf(op, dp.dest(), prepared.get(i).ctx()).forEach(call -> demand.merge(call, 1, Integer::sum)))));
+
+        List<FlightCall> calls = demand.entrySet().stream()
+                .sorted(Map.Entry.<FlightCall, Integer>comparingByValue().reversed())
+                .limit(batchMaxCalls)
+                .map(Map.Entry::getKey)
+                .toList();
+        int legUses = demand.values().stream().mapToInt(Integer::intValue).sum();
+
+        meterRegistry.counter("trip.search.batch.legs", "kind", "requested").increment(legUses);
+        meterRegistry.counter("trip.search.batch.legs", "kind", "planned").increment(calls.size());
+        meterRegistry.counter("trip.search.batch.legs", "kind", "skipped").increment(demand.size() - calls.size());
+        log.info("[TRIP] batch requests={} reused={} rejected={} legUses={} calls={} skipped={}",
+                reqs.size(), reused.size(), errors.size(), legUses, calls.size(), demand.size() - calls.size());
+
+        return new BatchPrepared(reqs, errors, reused, prepared, plans, memo.routeLookups(), calls, legUses,
+                demand.size() - calls.size());
+    }
+
+    /** 배치 요청 1건의 캐시 키. 캐시/DB 조회와 prepare 보다 먼저 걸러야 잘못된 날짜로 Amadeus 를 부르지 않음 */
+    private SearchKey validBatchKey(TripSearchRequest req) {
+        if (req == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "빈 요청");
+        TripPricing.parseDate(req.getDepartDate());
+        TripPricing.parseDate(req.getReturnDate());
+        pricing.checkedOrigins(req);
+        return SearchKey.of(req);
+    }
+
+    /** 배치 2) 계획한 항공권 조회. 실패하면 항공편 없음(빈 목록), batch.timeout 을 넘기면 남은 조회는 취소 */
+    private Flux<Map.Entry<FlightCall, List<FlightOffer>>> fetchFlights(BatchPrepared batch) {
+        return Flux.fromIterable(batch.calls())
+                .flatMap(call -> fetch(call)
+                        .defaultIfEmpty(List.of())
+                        .map(offers -> Map.entry(call, offers)), batchConcurrency)
+                .take(batchTimeout);
+    }
+
+    private Mono<List<FlightOffer>> fetch(FlightCall call) {
+        return switch (call) {
+            case LegKey leg -> pricing.oneWayLeg(leg.from(), leg.to(), leg.date(), leg.adults());
+            case RoundTripKey rt -> pricing.roundTrip(rt.origin(), rt.destination(), rt.departDate(), rt.returnDate(), rt.adults());
+        };
+    }
+
+    /** 배치 3) 요청별 top-K(항공권) → 서로 다른 호텔만 조회 → 요청 순서대로 응답 */
+    private Mono<TripBatchSearchResponse> priceBatch(BatchPrepared batch, Map<FlightCall, List<FlightOffer>> offers) {
+        Map<Integer, List<PlannedCard>> ranked = new HashMap<>();
+        pricing.stageTimer("ranking").record(() ->
+                batch.prepared().forEach((i, p) -> ranked.put(i, rankPlanned(p.ctx(), batch.plans().get(i), offers))));
+
+        Map<HotelKey, Map.Entry<Dest, SearchContext>> hotelCalls = new LinkedHashMap<>();
+        batch.prepared().forEach((i, p) -> ranked.get(i).forEach(card ->
+                hotelCalls.putIfAbsent(TripPricing.hotelKey(card.dest(), p.ctx()), Map.entry(card.dest(), p.ctx()))));
+
+        // 항공권을 다 받았는지(호출 상한 / 시간 예산에 걸렸으면 일부 구간이 빠진 결과)
+        boolean flightsComplete = batch.skippedCalls() == 0 && offers.size() == batch.calls().size();
+
+        // 호텔 1건마다 hotel-timeout, 단계 전체는 batch.hotel-timeout
+        return Flux.fromIterable(hotelCalls.entrySet())
+                .flatMap(e -> pricing.cheapestHotel(e.getValue().getKey(), e.getValue().getValue())
+                        .map(hotel -> Map.entry(e.getKey(), hotel)), batchConcurrency)
+                .take(batchHotelTimeout)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .map(hotels -> {
+                    // 항공권도 호텔도 다 받았을 때만 결과를 다시 씀(로컬 캐시 + DB)
+                    int skippedHotels = hotelCalls.size() - hotels.size();
+                    boolean complete = flightsComplete && skippedHotels == 0;
+
+                    List<TripSearchResponse> results = new ArrayList<>(batch.requests().size());
+                    List<String> errors = new ArrayList<>(batch.requests().size());
+                    for (int i = 0; i < batch.requests().size(); i++) {
+                        errors.add(batch.errors().get(i));
+                        if (batch.errors().containsKey(i)) {
+                            results.add(null);
+                            continue;
+                        }
+                        TripSearchResponse reused = batch.reused().get(i);
+                        if (reused != null) {
+                            results.add(reused);
+                            continue;
+                        }
+                        TripSearchRequest req = batch.requests().get(i);
+                        PreparedSearch p = batch.prepared().get(i);
+                        List<PricedDestination> priced = ranked.get(i).stream()
+                                .map(card -> new PricedDestination(card.flight(), hotels
+                                        .getOrDefault(TripPricing.hotelKey(card.dest(), p.ctx()), Optional.empty())
+                                        .orElse(null)))
+                                .filter(pd -> pd.withinBudget(p.ctx().budgetWon()))
+                                .toList();
+
+                        TripSearchResponse response = pricing.toResponse(req, p.rateSnapshot(), priced);
+                        if (complete) resultCache.remember(SearchKey.of(req), response);
+                        results.add(response);
+                    }
+
+                    return TripBatchSearchResponse.builder()
+                            .results(results)
+                            .errors(errors)
+                            .plan(TripBatchSearchResponse.Plan.builder()
+                                    .requests(batch.requests().size())
+                                    .reused(batch.reused().size())
+                                    .rejected(batch.errors().size())
+                                    .routeLookups(batch.routeLookups())
+                                    .legUses(batch.legUses())
+                                    .flightCalls(batch.calls().size())
+                                    .skippedCalls(batch.skippedCalls())
+                                    .hotelCalls(hotelCalls.size())
+                                    .skippedHotels(skippedHotels)
+                                    .build())
+                            .build();
+                });
+    }
+
+    /** 받은 항공권(+ 캘린더)으로 요청 1건의 top-K. 목적지마다 출발공항 중 가장 싼 카드 */
+    private List<PlannedCard> rankPlanned(
+            SearchContext ctx,
+            List<DestinationPlan> plans,
+            Map<FlightCall, List<FlightOffer>> offers
+    ) {
+        TopK<PlannedCard> top = new TopK<>(TripPricing.TOP_K, card -> card.flight().getPriceWon());
+        for (DestinationPlan dp : plans) {
+            TripSearchResponse.FlightCard best = null;
+            for (OriginPlan op : dp.origins()) {
+                TripSearchResponse.FlightCard card;
+                try {
+                    card = plannedCard(op, dp.dest(), ctx, offers);
+                } catch (IllegalStateException e) {
+                    log.warn("[TRIP] batch {}->{} skipped: {}", op.origin().code(), dp.dest().iata(), e.getMessage());
+                    continue;
+                }
+                if (card != null) best = best == null ? card : TripPricing.cheaper(best, card);
+            }
+            if (best != null) top.offer(new PlannedCard(dp.dest(), best));
+        }
+        return top.sorted();
+    }
+
+    /** 배치: 요청 1건의 목적지 × 출발공항 호출 계획. 여기서 한 번 정하고 callsOf / plannedCard 가 같이 쓴다 */
+    private List<DestinationPlan> plansOf(PreparedSearch p) {
+        return p.candidates().stream()
+                .map(c -> new DestinationPlan(c.dest(), c.origins().stream()
+                        .map(origin -> new OriginPlan(origin, pricing.countedPlan(origin, c.dest(), p.ctx())))
+                        .toList()))
+                .toList();
+    }
+
+    /** 배치: 출발공항 1곳 → 목적지에 필요한 항공권 조회(캘린더에 있는 편도는 빠짐) */
+    private static List<FlightCall> callsOf(OriginPlan op, Dest d, SearchContext ctx) {
+        Origin origin = op.origin();
+        CallPlan plan = op.plan();
+
+        List<FlightCall> calls = new ArrayList<>(3);
+        if (plan != CallPlan.ONE_WAYS) calls.add(TripPricing.roundTripKey(origin, d, ctx));
+        if (plan != CallPlan.ROUND_TRIP) {
+            if (origin.fares().outbound(d.iata(), ctx.departDate()) == null) calls.add(TripPricing.outLegKey(origin, d, ctx));
+            if (origin.fares().inbound(d.iata(), ctx.returnDate()) == null) calls.add(TripPricing.inLegKey(origin, d, ctx));
+        }
+        return calls;
+    }
+
+    /** 배치: callsOf 로 받은 결과(+ 캘린더)로 카드. 없거나 예산 초과면 null */
+    private TripSearchResponse.FlightCard plannedCard(
+            OriginPlan op,
+            Dest d,
+            SearchContext ctx,
+            Map<FlightCall, List<FlightOffer>> offers
+    ) {
+        Origin origin = op.origin();
+        CallPlan plan = op.plan();
+
+        TripSearchResponse.FlightCard roundTrip = plan == CallPlan.ONE_WAYS ? null : pricing.toRoundTripCard(
+                TripPricing.firstOffer(offers.get(TripPricing.roundTripKey(origin, d, ctx))), ctx.budgetWon(), ctx.ratesMap());
+        if (plan == CallPlan.ROUND_TRIP) return roundTrip;
+
+        List<FlightOffer> out = origin.fares().outbound(d.iata(), ctx.departDate());
+        List<FlightOffer> in = origin.fares().inbound(d.iata(), ctx.returnDate());
+        TripSearchResponse.FlightCard oneWays = pricing.toFlightCard(
+                out != null ? out : offers.get(TripPricing.outLegKey(origin, d, ctx)),
+                in != null ? in : offers.get(TripPricing.inLegKey(origin, d, ctx)),
+                ctx.budgetWon(), ctx.ratesMap());
+
+        if (roundTrip == null) return oneWays;
+        return oneWays == null ? roundTrip : TripPricing.cheaper(roundTrip, oneWays);
+    }
+
+    private record BatchReuse(
+            List<TripSearchRequest> requests,
+            Map<Integer, String> errors,                 // 요청 index → 잘못된 요청 사유
+            Map<Integer, TripSearchResponse> reused,     // 요청 index → 로컬 캐시 / DB 결과
+            Map<Integer, SearchKey> searches             // 요청 index → 실제로 검색할 요청
+    ) {}
+
+    private record BatchPrepared(
+            List<TripSearchRequest> requests,
+            Map<Integer, String> errors,                 // 요청 index → 잘못된 요청 사유
+            Map<Integer, TripSearchResponse> reused,     // 요청 index → 로컬 캐시 / DB 결과
+            Map<Integer, PreparedSearch> prepared,       // 요청 index → 실제로 검색할 요청
+            Map<Integer, List<DestinationPlan>> plans,   // 요청 index → 목적지 × 출발공항 호출 계획
+            int routeLookups,
+            List<FlightCall> calls,                      // 중복 없는 항공권 조회(같이 쓰는 요청이 많은 순)
+            int legUses,
+            int skippedCalls
+    ) {}
+
+    /** 배치: 목적지 1곳 + 출발공항마다 정한 호출 계획 */
+    private record DestinationPlan(Dest dest, List<OriginPlan> origins) {}
+
+    private record OriginPlan(Origin origin, CallPlan plan) {}
+
+    /** 배치: 호텔을 붙이기 전 목적지 카드 */
+    private record PlannedCard(Dest dest, TripSearchResponse.FlightCard flight) {}
+}
@@ -1,15 +1,27 @@
 package com.baru.backend.service;
 
+import com.baru.backend.config.OutboundMetricsFilter;
+import com.baru.backend.config.OutboundTimeouts;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
+@Slf4j
 @Service
 public class ExchangeRateService {
 
-    private final RestClient restClient = RestClient.create();
+    private final WebClient webClient;
+    private final OutboundTimeouts timeouts;
 
     @Value("${exchange.api.base}")
     private String baseUrl;
@@ -17,24 +29,104 @@ public class ExchangeRateService {
     @Value("${exchange.api.key}")
     private String apiKey;
 
+    @Value("${exchange.snapshot.base:KRW}")
+    private String snapshotBase;
+
+    /** 스케줄러가 통째로 교체하는 최신 환율표. 조회는 여기서만(I/O 없음) */
+    private final AtomicReference<RateSnapshot> snapshot = new AtomicReference<>();
+    private final ReentrantLock loadLock = new ReentrantLock(); // synchronized 는 가상 스레드를 캐리어에 고정(pin)시킴
+
+    /** 공용 커넥션 풀(WebClientConfig)을 같이 쓴다 */
+    public ExchangeRateService(WebClient.Builder builder, OutboundTimeouts timeouts) {
+        this.webClient = builder.build();
+        this.timeouts = timeouts;
+    }
+
     /**
      * baseCurrency 예: "KRW"
      * return: {"JPY":0.11,"USD":0.00076,...}
      */
-    @SuppressWarnings("unchecked")
     public Map<String, Double> latestRates(String baseCurrency) {
+        return snapshot(baseCurrency).rates();
+    }
+
+    /** 스냅샷 base 면 메모리에서 바로, 그 외 base 는 기존처럼 직접 조회 */
+    public RateSnapshot snapshot(String baseCurrency) {
+        if (!snapshotBase.equalsIgnoreCase(baseCurrency)) {
+            return fetch(baseCurrency);
+        }
+
+        RateSnapshot current = snapshot.get();
+        if (current != null) return current;
+
+        // 기동 직후 첫 갱신이 아직 안 끝났거나 실패한 경우에만 동기 조회
+        return loadIfAbsent();
+    }
+
+    /** 주기적으로 새 스냅샷을 받아 교체. 실패하면 마지막 정상 스냅샷을 계속 사용 */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${exchange.refresh-interval:PT1H}")
+    public void refresh() {
+        try {
+            RateSnapshot fresh = fetch(snapshotBase);
+            snapshot.set(fresh);
+            log.info("[EXCHANGE] rates refreshed base={}, updatedAt={}", fresh.base(), fresh.updatedAt());
+        } catch (Exception e) {
+            RateSnapshot last = snapshot.get();
+            log.warn("[EXCHANGE] refresh failed, keeping snapshot updatedAt={}",
+                    last == null ? null : last.updatedAt(), e);
+        }
+    }
+
+    // ===== helpers =====
+
+    private RateSnapshot loadIfAbsent() {
+        loadLock.lock();
+        try {
+            RateSnapshot current = snapshot.get();
+            if (current != null) return current;
+
+            RateSnapshot fresh = fetch(snapshotBase);
+            snapshot.set(fresh);
+            return fresh;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private RateSnapshot fetch(String baseCurrency) {
 
         String url = baseUrl + "/" + apiKey + "/latest/" + baseCurrency;
 
-        Map<String, Object> res = restClient.get()
+        Map<String, Object> res = webClient.get()
                 .uri(url)
+                .httpRequest(timeouts.responseTimeout("exchange-rate"))
+                .attribute(OutboundMetricsFilter.ENDPOINT, "exchange-rate")
                 .retrieve()
-                .body(Map.class);   // ✅ Map으로 받기
+                .bodyToMono(Map.class)   // ✅ Map으로 받기
+                .block();
 
         if (res == null || !res.containsKey("conversion_rates")) {
             throw new IllegalStateException("ExchangeRate API response invalid");
         }
 
-        return (Map<String, Double>) res.get("conversion_rates");
+        // 정수로 내려오는 값(예: "KRW":1)도 있어서 Double 로 통일
+        Map<String, Object> raw = (Map<String, Object>) res.get("conversion_rates");
+        Map<String, Double> rates = new HashMap<>();
+        raw.forEach((currency, value) -> {
+            if (value instanceof Number n) rates.put(currency, n.doubleValue());
+        });
+
+        // 환율 제공처의 실제 갱신 시각(없으면 받은 시각)
+        Object unix = res.get("time_last_update_unix");
+        Instant updated = unix instanceof Number n ? Instant.ofEpochSecond(n.longValue()) : Instant.now();
+
+        return new RateSnapshot(
+                baseCurrency.toUpperCase(),
+                Map.copyOf(rates),
+                LocalDateTime.ofInstant(updated, ZoneId.systemDefault())
+        );
     }
+
+    public record RateSnapshot(String base, Map<String, Double> rates, LocalDateTime updatedAt) {}
 }
@@ -0,0 +1,284 @@
+package com.baru.backend.service;
+
+import com.baru.backend.domain.FlightFare;
+import com.baru.backend.dto.flight.FlightOffer;
+import com.baru.backend.repository.FlightFareRepository;
+import com.baru.backend.service.amadeus.AmadeusFlightService;
+import com.baru.backend.service.amadeus.CallPriority;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 가격 캘린더: 인기 출발 공항(ICN/GMP/PUS) ↔ 직항 목적지의 앞으로 N일 편도 최저가를 미리 받아 MySQL(flight_fare)에 저장.
+ * 검색은 max-age 안에 받은 값이면 그대로 쓰고, 없는 구간만 실시간으로 조회한다.
+ * 같은 테이블에 검색 중 실시간으로 받은 값(source=LIVE)도 저장되는데, 이건 offer 캐시 TTL(live-max-age) 동안만 쓴다.
+ * 갱신 호출은 BACKGROUND 우선순위라 검색 호출이 rate limit 대기열에서 항상 먼저 나가고,
+ * amadeus.rate-limit.background 상한 때문에 계정 한도의 일부만 쓴다(갱신 중에도 검색 몫이 남음).
+ */
+@Slf4j
+@Service
+public class FareCalendarService {
+
+    static final int ADULTS = 1;    // 캘린더는 1인 가격만(검색 기본값)
+
+    private final AmadeusFlightService amadeusFlightService;
+    private final RouteGraphService routeGraphService;
+    private final FlightFareRepository flightFareRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${fares.calendar.enabled:true}")
+    private boolean enabled;
+
+    @Value("${fares.calendar.origins:ICN,GMP,PUS}")
+    private List<String> origins;
+
+    @Value("${fares.calendar.days:90}")
+    private int days;
+
+    @Value("${fares.calendar.max-age:PT12H}")
+    private Duration maxAge;         // 이보다 오래된 캘린더 값(source=CALENDAR)은 검색에서 쓰지 않음
+
+    @Value("${fares.calendar.live-max-age:${amadeus.cache.flight-offers.ttl:10m}}")
+    private Duration liveMaxAge;     // 검색 중 실시간으로 받은 값(source=LIVE)
+
+    @Value("${fares.calendar.concurrency:4}")
+    private int concurrency;         // 갱신 중 동시에 조회하는 구간 수
+
+    @Value("${fares.calendar.days-per-run:7}")
+    private int daysPerRun;          // 한 번 갱신할 때 받는 날짜 수(앞으로 days 일을 돌아가며)
+
+    @Value("${fares.calendar.run-timeout:PT1H}")
+    private Duration runTimeout;     // 한 번 갱신이 이보다 길면 중단(받은 날짜까지는 저장됨)
+
+    private int nextDay = 1;         // 다음 갱신이 시작할 날짜(오늘 + nextDay). 스케줄러 스레드에서만
+
+    public FareCalendarService(
+            AmadeusFlightService amadeusFlightService,
+            RouteGraphService routeGraphService,
+            FlightFareRepository flightFareRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        this.amadeusFlightService = amadeusFlightService;
+        this.routeGraphService = routeGraphService;
+        this.flightFareRepository = flightFareRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 검색 1건이 쓸 스냅샷(origin → *, departDate / * → homeReturn, returnDate). DB 조회 2번이라 블로킹 구간(prepare)에서 호출.
+     * 미리 받아두는 건 1인 가격뿐이고, 다른 인원은 검색 중에 실시간으로 받은 값(TripResultStore write-behind, live-max-age)만 있다.
+     * 날짜 형식이 틀리거나 DB 가 실패하면 빈 스냅샷 → 전부 실시간 조회.
+     */
+    public FareSnapshot snapshot(String origin, String departDate, String homeReturn, String returnDate, int adults) {
+        if (departDate == null || returnDate == null) return FareSnapshot.EMPTY;
+        try {
+            LocalDate depart = LocalDate.parse(departDate);
+            LocalDate back = LocalDate.parse(returnDate);
+            return snapshot(origin, depart, depart, homeReturn, back, back, adults);
+        } catch (DateTimeParseException e) {
+            return FareSnapshot.EMPTY;
+        }
+    }
+
+    /** 날짜 범위 버전(±N일 검색): origin → *, [departFrom, departTo] / * → homeReturn, [returnFrom, returnTo] */
+    public FareSnapshot snapshot(
+            String origin, LocalDate departFrom, LocalDate departTo,
+            String homeReturn, LocalDate returnFrom, LocalDate returnTo,
+            int adults
+    ) {
+        if (!enabled) return FareSnapshot.EMPTY;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Freshness freshSince = new Freshness(now.minus(maxAge), now.minus(liveMaxAge));
+
+            Map<FareKey, FlightFare> outbound = fresh(
+                    flightFareRepository.findByOriginIataAndDepartureDateBetweenAndAdults(origin, departFrom, departTo, adults),
+                    freshSince, f -> new FareKey(f.getDestinationIata(), f.getDepartureDate().toString()));
+            Map<FareKey, FlightFare> inbound = fresh(
+                    flightFareRepository.findByDestinationIataAndDepartureDateBetweenAndAdults(homeReturn, returnFrom, returnTo, adults),
+                    freshSince, f -> new FareKey(f.getOriginIata(), f.getDepartureDate().toString()));
+            return new FareSnapshot(outbound, inbound);
+
+        } catch (Exception e) {
+            log.warn("[FARES] snapshot load failed, using live calls only", e);
+            return FareSnapshot.EMPTY;
+        }
+    }
+
+    /**
+     * 설정된 출발 공항 × 다음 days-per-run 일 × 직항 목적지(가는 편 + 돌아오는 편) 를 다시 받는다.
+     * 앞으로 days 일 전체(출발 공항 3 × 90일 × 목적지 ~80 × 2 = 4만여 건, background 3/s 로 4시간)를 한 번에 받지 않고
+     * 실행마다 다음 구간으로 넘어가며 나눠 받음(7일 = 3천여 건, 20분 정도). (출발 공항, 날짜) 단위로 저장.
+     * 끝날 때까지 기다렸다가 돌아오므로 refresh-interval 은 이번 실행이 끝난 뒤부터의 간격이고 실행이 겹치지 않는다.
+     */
+    @Scheduled(
+            initialDelayString = "${fares.calendar.initial-delay:PT5M}",
+            fixedDelayString = "${fares.calendar.refresh-interval:PT30M}"
+    )
+    public void warm() {
+        if (!enabled) return;
+
+        LocalDate today = LocalDate.now();
+        int from = nextDay > days ? 1 : nextDay;
+        int to = Math.min(days, from + Math.max(1, daysPerRun) - 1);
+        nextDay = to + 1;
+
+        List<WarmTarget> targets = new ArrayList<>();
+        for (int day = from; day <= to; day++) {
+            for (String origin : origins) {
+                targets.add(new WarmTarget(origin.trim().toUpperCase(Locale.ROOT), today.plusDays(day)));
+            }
+        }
+        long started = System.nanoTime();
+        log.info("[FARES] warm start origins={} days={}..{} of {}", origins, from, to, days);
+
+        try {
+            Integer saved = Mono.fromRunnable(() -> transactionTemplate.executeWithoutResult(
+                            status -> flightFareRepository.deleteByDepartureDateBefore(today)))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .thenMany(Flux.fromIterable(targets))
+                    .concatMap(this::warmTarget)
+                    .reduce(0, Integer::sum)
+                    .block(runTimeout);
+            log.info("[FARES] warm done days={}..{} fares={} took={}s", from, to, saved,
+                    Duration.ofNanos(System.nanoTime() - started).toSeconds());
+        } catch (RuntimeException e) {
+            log.warn("[FARES] warm failed days={}..{}", from, to, e);
+        }
+    }
+
+    // ===== helpers =====
+
+    /** (출발 공항, 날짜) 하나: 직항 목적지마다 가는 편/돌아오는 편을 받아서 한 트랜잭션으로 저장. 저장한 건수 */
+    private Mono<Integer> warmTarget(WarmTarget target) {
+        String date = target.date().toString();
+        return Mono.fromCallable(() -> routeGraphService.destinations(target.origin()))
+                .subscribeOn(Schedulers.boundedElastic()) // 처음 보는 출발 공항이면 노선 조회(블로킹)
+                .flatMapMany(Flux::fromIterable)
+                .map(RouteGraphService.RouteDestination::iataCode)
+                .filter(destination -> !destination.equals(target.origin()))
+                .flatMap(destination -> Flux.just(
+                        new Leg(target.origin(), destination),
+                        new Leg(destination, target.origin())
+                ))
+                .flatMap(leg -> cheapest(leg, date), concurrency)
+                .collectList()
+                .publishOn(Schedulers.boundedElastic())
+                .map(priced -> {
+                    transactionTemplate.executeWithoutResult(status -> persist(target, priced));
+                    meterRegistry.counter("fares.calendar.saved").increment(priced.size());
+                    return priced.size();
+                })
+                .onErrorResume(e -> {
+                    log.warn("[FARES] warm failed origin={} date={}, keeping previous fares", target.origin(), date, e);
+                    return Mono.just(0);
+                });
+    }
+
+    /**
+     * 구간 1개 최저가. 조회 실패면 empty(이전 값 유지), 항공편이 없으면 offer=null 로 저장.
+     * 캐시/stale 을 거치지 않는 조회라 장애 때 지난 응답이 새 값으로 저장되지 않는다.
+     */
+    private Mono<PricedLeg> cheapest(Leg leg, String date) {
+        return CallPriority.BACKGROUND.run(amadeusFlightService.fetchOffersOneWayReactive(
+                        leg.from(), leg.to(), date, ADULTS, 1, "KRW"))
+                .map(offers -> new PricedLeg(leg, TripPricing.firstOffer(offers), LocalDateTime.now()))
+                .defaultIfEmpty(new PricedLeg(leg, null, LocalDateTime.now()))
+                .onErrorResume(e -> {
+                    meterRegistry.counter("fares.calendar.errors").increment();
+                    log.debug("[FARES] {}->{} {} skipped: {}", leg.from(), leg.to(), date, e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    /** 같은 날짜의 기존 행은 갱신, 없으면 추가. 그 사이 검색이 더 최근 값을 저장했으면 그대로 둠 */
+    private void persist(WarmTarget target, List<PricedLeg> priced) {
+        Map<Leg, FlightFare> existing = new HashMap<>();
+        flightFareRepository.findByOriginIataAndDepartureDateAndAdults(target.origin(), target.date(), ADULTS)
+                .forEach(f -> existing.put(new Leg(f.getOriginIata(), f.getDestinationIata()), f));
+        flightFareRepository.findByDestinationIataAndDepartureDateAndAdults(target.origin(), target.date(), ADULTS)
+                .forEach(f -> existing.put(new Leg(f.getOriginIata(), f.getDestinationIata()), f));
+
+        List<FlightFare> toSave = new ArrayList<>(priced.size());
+        for (PricedLeg p : priced) {
+            FlightFare fare = existing.get(p.leg());
+            if (fare == null) {
+                fare = new FlightFare(p.leg().from(), p.leg().to(), target.date(), ADULTS,
+                        p.offer(), FlightFare.Source.CALENDAR, p.fetchedAt());
+            } else if (fare.isNewerThan(p.fetchedAt())) {
+                continue;
+            } else {
+                fare.update(p.offer(), FlightFare.Source.CALENDAR, p.fetchedAt());
+            }
+            toSave.add(fare);
+        }
+        flightFareRepository.saveAll(toSave);
+    }
+
+    private static Map<FareKey, FlightFare> fresh(
+            List<FlightFare> fares,
+            Freshness freshSince,
+            Function<FlightFare, FareKey> keyOf
+    ) {
+        return fares.stream()
+                .filter(f -> !f.getFetchedAt().isBefore(freshSince.of(f)))
+                .collect(Collectors.toMap(keyOf, Function.identity(), (a, b) -> a));
+    }
+
+    /**
+     * 검색 1건용 캘린더 스냅샷. 값이 있으면 그 구간은 실시간 조회 없이 씀(항공편 없음도 결과로 취급).
+     */
+    public record FareSnapshot(Map<FareKey, FlightFare> outbound, Map<FareKey, FlightFare> inbound) {
+
+        static final FareSnapshot EMPTY = new FareSnapshot(Map.of(), Map.of());
+
+        /** origin → destination 편도(date = YYYY-MM-DD). 스냅샷에 없으면 null(실시간 조회), 항공편이 없던 구간이면 빈 목록 */
+        public List<FlightOffer> outbound(String destination, String date) {
+            return offersOf(outbound.get(new FareKey(destination, date)));
+        }
+
+        /** from → homeReturn 편도 */
+        public List<FlightOffer> inbound(String from, String date) {
+            return offersOf(inbound.get(new FareKey(from, date)));
+        }
+
+        private static List<FlightOffer> offersOf(FlightFare fare) {
+            if (fare == null) return null;
+            return fare.getCheapestOffer() == null ? List.of() : List.of(fare.getCheapestOffer());
+        }
+    }
+
+    /** 상대 공항 + 날짜(YYYY-MM-DD) */
+    public record FareKey(String airport, String date) {}
+
+    private record WarmTarget(String origin, LocalDate date) {}
+
+    private record Leg(String from, String to) {}
+
+    private record PricedLeg(Leg leg, FlightOffer offer, LocalDateTime fetchedAt) {}
+
+    /** 출처별로 이 시각 이후에 받은 값만 씀. source 가 없는 예전 행은 짧은 쪽(LIVE) */
+    private record Freshness(LocalDateTime calendarSince, LocalDateTime liveSince) {
+        LocalDateTime of(FlightFare fare) {
+            return fare.getSource() == FlightFare.Source.CALENDAR ? calendarSince : liveSince;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.baru.backend.service;
+
+import com.baru.backend.dto.flight.FlightOffer;
+import com.baru.backend.dto.trip.FlexibleTripSearchResponse;
+import com.baru.backend.dto.trip.TripSearchRequest;
+import com.baru.backend.dto.trip.TripSearchResponse;
+import com.baru.backend.service.TripPricing.Dest;
+import com.baru.backend.service.TripPricing.LegKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/** ±N일 검색: 날짜 조합별 가격표(항공권만). 편도 조회 / 카드 변환은 TripPricing */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FlexibleTripSearchService {
+
+    private final TripPricing pricing;
+    private final ExchangeRateService exchangeRateService;
+    private final FareCalendarService fareCalendarService;
+    private final Scheduler amadeusScheduler;
+
+    @Value("${trip.search.max-concurrency:20}")
+    private int maxConcurrency;      // 동시에 조회하는 편도 수
+
+    @Value("${trip.search.flex.default-days:3}")
+    private int flexDefaultDays;     // ±N일 검색에서 flexDays 를 안 보냈을 때
+
+    @Value("${trip.search.flex.max-days:3}")
+    private int flexMaxDays;         // 편도 호출 수 = 후보 × (2N+1) × 2 이므로 상한
+
+    /**
+     * ±N일 검색: (가는 날 2N+1개) × (오는 날 2N+1개) 조합을 검색을 49번 돌리는 대신
+     * 서로 다른 편도 (출발, 도착, 날짜) 를 한 번씩만 조회(캘린더 → 실시간, 동시에 maxConcurrency 개)하고
+     * 목적지별 OUT × IN 가격표는 메모리에서 합친다. 호텔은 날짜 조합마다 달라서 여기서는 항공권만.
+     */
+    public Mono<FlexibleTripSearchResponse> searchFlexible(TripSearchRequest req) {
+        return Mono.fromCallable(() -> prepareFlexible(req))
+                .subscribeOn(amadeusScheduler) // 노선 그래프 miss / 캘린더 DB 조회
+                .flatMap(prepared -> pricing.timedStage("pricing", Flux.fromIterable(prepared.legs())
+                                .flatMap(leg -> priceLeg(leg, prepared), maxConcurrency))
+                        .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                        .map(offers -> pricing.stageTimer("ranking").record(() -> rankFlexible(req, prepared, offers))));
+    }
+
+    /** 환율 / 날짜 목록 / 목적지 후보 / 캘린더 스냅샷 + 조회할 편도 목록(중복 없이) */
+    private FlexiblePrepared prepareFlexible(TripSearchRequest req) {
+        ExchangeRateService.RateSnapshot rateSnapshot =
+                pricing.stageTimer("rates").record(() -> exchangeRateService.snapshot("KRW"));
+
+        LocalDate depart = TripPricing.parseDate(req.getDepartDate());
+        LocalDate back = TripPricing.parseDate(req.getReturnDate());
+        int flex = Math.max(0, Math.min(flexMaxDays, req.getFlexDays() == null ? flexDefaultDays : req.getFlexDays()));
+        int adults = Math.max(1, req.getPeople());
+        String origin = TripPricing.originOf(req);
+        String homeReturn = TripPricing.homeReturnOf(req, origin);
+
+        List<String> departDates = flexDates(depart, flex);
+        List<String> returnDates = flexDates(back, flex);
+        if (departDates.isEmpty() || returnDates.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "검색 가능한 날짜가 없음(지난 날짜)");
+        }
+
+        List<Dest> candidates = pricing.stageTimer("candidates").record(() ->
+                pricing.candidatesOf(origin, Boolean.TRUE.equals(req.getDomestic())));
+
+        FareCalendarService.FareSnapshot fares = pricing.stageTimer("fares").record(() -> fareCalendarService.snapshot(
+                origin, LocalDate.parse(departDates.get(0)), LocalDate.parse(departDates.get(departDates.size() - 1)),
+                homeReturn, LocalDate.parse(returnDates.get(0)), LocalDate.parse(returnDates.get(returnDates.size() - 1)),
+                adults));
+
+        // 같은 편도가 여러 조합에 들어가도 목록에는 한 번만
+        Set<FlexLeg> legs = new LinkedHashSet<>();
+        for (Dest d : candidates) {
+            departDates.forEach(date -> legs.add(new FlexLeg(new LegKey(origin, d.iata(), date, adults), true)));
+            returnDates.forEach(date -> legs.add(new FlexLeg(new LegKey(d.iata(), homeReturn, date, adults), false)));
+        }
+
+        return new FlexiblePrepared(rateSnapshot, origin, homeReturn, adults, departDates, returnDates,
+                candidates, fares, List.copyOf(legs));
+    }
+
+    /** 기준일 ±flex 중 오늘 이후 날짜(YYYY-MM-DD) */
+    private static List<String> flexDates(LocalDate base, int flex) {
+        LocalDate today = LocalDate.now();
+        List<String> dates = new ArrayList<>(2 * flex + 1);
+        for (int offset = -flex; offset <= flex; offset++) {
+            LocalDate date = base.plusDays(offset);
+            if (!date.isBefore(today)) dates.add(date.toString());
+        }
+        return dates;
+    }
+
+    /** 편도 1건의 최저 offer. 없거나 실패하면 empty(가격표에서 null) */
+    private Mono<Map.Entry<LegKey, FlightOffer>> priceLeg(FlexLeg leg, FlexiblePrepared prepared) {
+        LegKey key = leg.key();
+        List<FlightOffer> snapshot = leg.outbound()
+                ? prepared.fares().outbound(key.to(), key.date())
+                : prepared.fares().inbound(key.from(), key.date());
+
+        return pricing.snapshotOrLive(snapshot, key.from(), key.to(), key.date(), key.adults())
+                .mapNotNull(TripPricing::firstOffer)
+                .map(offer -> Map.entry(key, offer));
+    }
+
+    /** 목적지별 가격표 + 예산 안에서 가장 싼 조합, 가장 싼 목적지 TOP_K 개 */
+    private FlexibleTripSearchResponse rankFlexible(
+            TripSearchRequest req,
+            FlexiblePrepared prepared,
+            Map<LegKey, FlightOffer> offers
+    ) {
+        Map<String, Double> ratesMap = prepared.rateSnapshot().rates();
+        int budgetWon = req.getBudgetWon();
+
+        Map<LegKey, Integer> wonByLeg = new HashMap<>();
+        offers.forEach((key, offer) -> {
+            try {
+                wonByLeg.put(key, TripPricing.offerTotalWon(offer, ratesMap));
+            } catch (IllegalStateException e) {
+                log.warn("[TRIP] flexible leg {}->{} {} skipped: {}", key.from(), key.to(), key.date(), e.getMessage());
+            }
+        });
+
+        List<FlexibleTripSearchResponse.DestinationMatrix> matrices = new ArrayList<>();
+        for (Dest d : prepared.candidates()) {
+            List<List<Integer>> rows = new ArrayList<>(prepared.departDates().size());
+            LegKey bestOut = null;
+            LegKey bestIn = null;
+            int bestWon = Integer.MAX_VALUE;
+
+            for (String departDate : prepared.departDates()) {
+                LegKey out = new LegKey(prepared.origin(), d.iata(), departDate, prepared.adults());
+                Integer outWon = wonByLeg.get(out);
+
+                List<Integer> row = new ArrayList<>(prepared.returnDates().size());
+                for (String returnDate : prepared.returnDates()) {
+                    LegKey in = new LegKey(d.iata(), prepared.homeReturn(), returnDate, prepared.adults());
+                    Integer inWon = wonByLeg.get(in);
+                    // YYYY-MM-DD 는 문자열 비교 = 날짜 비교
+                    if (outWon == null || inWon == null || returnDate.compareTo(departDate) <= 0) {
+                        row.add(null);
+                        continue;
+                    }
+                    int totalWon = outWon + inWon;
+                    row.add(totalWon);
+                    if (totalWon < bestWon && (budgetWon <= 0 || totalWon <= budgetWon)) {
+                        bestWon = totalWon;
+                        bestOut = out;
+                        bestIn = in;
+                    }
+                }
+                rows.add(row);
+            }
+            if (bestOut == null) continue; // 예산 안의 조합이 없음
+
+            matrices.add(FlexibleTripSearchResponse.DestinationMatrix.builder()
+                    .arrivalAirport(d.iata())
+                    .pricesWon(rows)
+                    .cheapestDepartDate(bestOut.date())
+                    .cheapestReturnDate(bestIn.date())
+                    .cheapest(pricing.toFlightCard(List.of(offers.get(bestOut)), List.of(offers.get(bestIn)), budgetWon, ratesMap))
+                    .build());
+        }
+
+        List<FlexibleTripSearchResponse.DestinationMatrix> top = matrices.stream()
+                .sorted(Comparator.comparingInt(m -> m.getCheapest().getPriceWon()))
+                .limit(TripPricing.TOP_K)
+                .toList();
+        int estimatedTotalWon = top.isEmpty() ? 0 : top.get(0).getCheapest().getPriceWon();
+
+        return FlexibleTripSearchResponse.builder()
+                .requested(req)
+                .exchange(pricing.exchangeOf(prepared.rateSnapshot()))
+                .budget(TripSearchResponse.Budget.builder()
+                        .budgetWon(budgetWon)
+                        .estimatedTotalWon(estimatedTotalWon)
+                        .remainingWon(budgetWon - estimatedTotalWon)
+                        .hotelIncluded(false)
+                        .build())
+                .departDates(prepared.departDates())
+                .returnDates(prepared.returnDates())
+                .destinations(top)
+                .build();
+    }
+
+    /** ±N일 검색: outbound 면 origin → 목적지, 아니면 목적지 → homeReturn (캘린더 조회 방향) */
+    private record FlexLeg(LegKey key, boolean outbound) {}
+
+    private record FlexiblePrepared(
+            ExchangeRateService.RateSnapshot rateSnapshot,
+            String origin,
+            String homeReturn,
+            int adults,
+            List<String> departDates,
+            List<String> returnDates,
+            List<Dest> candidates,
+            FareCalendarService.FareSnapshot fares,
+            List<FlexLeg> legs
+    ) {}
+}
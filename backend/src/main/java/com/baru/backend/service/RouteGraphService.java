@@ -0,0 +1,270 @@
+package com.baru.backend.service;
+
+import com.baru.backend.domain.Airport;
+import com.baru.backend.domain.AirportRoute;
+import com.baru.backend.repository.AirportRepository;
+import com.baru.backend.repository.AirportRouteRepository;
+import com.baru.backend.service.amadeus.AmadeusFlightService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 출발 공항별 직항 목적지 그래프.
+ * MySQL(airport / airport_route)에 저장해두고 기동 시 메모리로 올려서 검색마다 Amadeus 를 부르지 않는다.
+ */
+@Slf4j
+@Service
+public class RouteGraphService {
+
+    private final AmadeusFlightService amadeusFlightService;
+    private final AirportRepository airportRepository;
+    private final AirportRouteRepository airportRouteRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AirportCityIndex airportCityIndex;
+
+    @Value("${routes.origins:ICN,GMP,PUS}")
+    private List<String> origins;               // 주기적으로 갱신하는 출발 공항
+
+    @Value("${routes.max-destinations:80}")
+    private int maxDestinations;
+
+    /** origin -> 직항 목적지. 통째로 교체(copy-on-write) */
+    private volatile Map<String, List<RouteDestination>> graph = Map.of();
+    private final ReentrantLock graphLock = new ReentrantLock(); // graph 교체만(I/O 는 lock 밖). 가상 스레드 pin 방지로 synchronized 대신
+
+    // 출발 공항별로 진행 중인 조회(같은 공항 동시 요청은 하나만 Amadeus 로, 다른 공항끼리는 서로 안 기다림)
+    private final ConcurrentMap<String, CompletableFuture<List<RouteDestination>>> loading = new ConcurrentHashMap<>();
+
+    // 잘못된 출발 공항 코드(Amadeus 400/404)는 failure-ttl 동안 Amadeus 를 다시 부르지 않고 같은 오류.
+    // 429 / timeout / circuit open / DB 오류처럼 잠깐 실패한 건 기억하지 않음(다음 검색이 다시 시도)
+    private final Cache<String, RuntimeException> failures;
+
+    public RouteGraphService(
+            AmadeusFlightService amadeusFlightService,
+            AirportRepository airportRepository,
+            AirportRouteRepository airportRouteRepository,
+            TransactionTemplate transactionTemplate,
+            AirportCityIndex airportCityIndex,
+            @Value("${routes.failure-ttl:PT5M}") Duration failureTtl
+    ) {
+        this.amadeusFlightService = amadeusFlightService;
+        this.airportRepository = airportRepository;
+        this.airportRouteRepository = airportRouteRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.airportCityIndex = airportCityIndex;
+        this.failures = Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(failureTtl)
+                .build();
+    }
+
+    /** 메모리 그래프에서 조회. 처음 보는 출발 공항이면 그때만 Amadeus 에서 받아와 저장 */
+    public List<RouteDestination> destinations(String origin) {
+        List<RouteDestination> cached = graph.get(origin);
+        if (cached != null) return cached;
+
+        RuntimeException failed = failures.getIfPresent(origin);
+        if (failed != null) throw new IllegalStateException(failed.getMessage(), failed); // 요청마다 새 예외(공유 인스턴스에 stack/suppressed 가 쌓이지 않게)
+
+        return refreshOrigin(origin, false);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFromDatabase() {
+        try {
+            Map<String, List<RouteDestination>> loaded = airportRouteRepository.findAllWithDestination().stream()
+                    .collect(Collectors.groupingBy(
+                            AirportRoute::getOriginIata,
+                            Collectors.mapping(r -> RouteDestination.of(r.getDestination()), Collectors.toList())
+                    ));
+            graphLock.lock();
+            try {
+                Map<String, List<RouteDestination>> next = new HashMap<>(graph);
+                loaded.forEach((origin, list) -> next.putIfAbsent(origin, List.copyOf(list)));
+                graph = Map.copyOf(next);
+            } finally {
+                graphLock.unlock();
+            }
+            log.info("[ROUTES] loaded {} origins from database", loaded.size());
+        } catch (Exception e) {
+            log.warn("[ROUTES] initial load failed, routes will be fetched on demand", e);
+        }
+    }
+
+    /** 설정된 출발 공항 + 한 번이라도 조회된 출발 공항을 백그라운드로 갱신 */
+    @Scheduled(
+            initialDelayString = "${routes.refresh-initial-delay:PT1M}",
+            fixedDelayString = "${routes.refresh-interval:PT24H}"
+    )
+    public void refreshAll() {
+        Set<String> targets = new LinkedHashSet<>();
+        origins.forEach(o -> targets.add(o.trim().toUpperCase()));
+        targets.addAll(graph.keySet());
+
+        for (String origin : targets) {
+            try {
+                refreshOrigin(origin, true);
+            } catch (Exception e) {
+                log.warn("[ROUTES] refresh failed origin={}, keeping previous routes", origin, e);
+            }
+        }
+    }
+
+    // ===== helpers =====
+
+    /**
+     * 출발 공항 1곳을 Amadeus 에서 받아 저장. 같은 공항을 이미 받는 중이면 그 결과를 같이 기다림.
+     * force=false(검색 경로)면 차례가 왔을 때 graph 를 다시 보고, 그 사이 채워졌으면 호출하지 않는다.
+     */
+    private List<RouteDestination> refreshOrigin(String origin, boolean force) {
+        CompletableFuture<List<RouteDestination>> mine = new CompletableFuture<>();
+        CompletableFuture<List<RouteDestination>> running = loading.putIfAbsent(origin, mine);
+        if (running != null) return join(running);
+
+        try {
+            List<RouteDestination> cached = graph.get(origin);
+            if (!force && cached != null) {
+                mine.complete(cached);
+                return cached;
+            }
+
+            List<RouteDestination> fetched = fetch(origin);
+            fetched.forEach(d -> airportCityIndex.remember(d.iataCode(), d.cityCode()));
+
+            graphLock.lock();
+            try {
+                Map<String, List<RouteDestination>> next = new HashMap<>(graph);
+                next.put(origin, fetched);
+                graph = Map.copyOf(next);
+            } finally {
+                graphLock.unlock();
+            }
+            failures.invalidate(origin);
+            persistQuietly(origin, fetched);
+
+            log.info("[ROUTES] refreshed origin={}, destinations={}", origin, fetched.size());
+            mine.complete(fetched);
+            return fetched;
+        } catch (RuntimeException e) {
+            if (isInvalidOrigin(e)) failures.put(origin, e);
+            mine.completeExceptionally(e);
+            throw e;
+        } catch (Throwable e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(origin, mine);
+        }
+    }
+
+    private static List<RouteDestination> join(CompletableFuture<List<RouteDestination>> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    /** Amadeus 가 공항 코드 자체를 거절(400 / 404)한 경우만. 인증(401/403)·429·5xx·네트워크 오류는 아님 */
+    private static boolean isInvalidOrigin(Throwable e) {
+        for (Throwable c = e; c != null; c = c.getCause()) {
+            if (c instanceof WebClientResponseException r) {
+                int status = r.getStatusCode().value();
+                return status == 400 || status == 404;
+            }
+        }
+        return false;
+    }
+
+    /** DB 저장은 재기동 때 다시 읽기 위한 것 → 실패해도 메모리 그래프로 검색은 계속(다음 갱신 때 다시 저장) */
+    private void persistQuietly(String origin, List<RouteDestination> destinations) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(origin, destinations));
+        } catch (RuntimeException e) {
+            log.warn("[ROUTES] saving routes failed origin={}, serving from memory", origin, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<RouteDestination> fetch(String origin) {
+        Map<String, Object> routesRoot = amadeusFlightService.directDestinations(origin, maxDestinations);
+        List<Map<String, Object>> routeData =
+                (List<Map<String, Object>>) routesRoot.getOrDefault("data", List.of());
+
+        List<RouteDestination> result = new ArrayList<>();
+        for (Map<String, Object> item : routeData) {
+            Object iataObj = item.get("iataCode");
+            if (iataObj == null) continue;
+            String iata = iataObj.toString().toUpperCase();
+
+            String countryCode = null;
+            String cityCode = null;
+            Object addrObj = item.get("address");
+            if (addrObj instanceof Map<?, ?> addrMap) {
+                Object cc = addrMap.get("countryCode");
+                if (cc != null) countryCode = cc.toString().toUpperCase();
+                Object city = addrMap.get("cityCode");
+                if (city != null) cityCode = city.toString().toUpperCase();
+            }
+            // direct-destinations 는 도시 단위(subtype=city)로 내려오는 경우가 많음 → iataCode 가 곧 도시 코드
+            if (cityCode == null && "city".equalsIgnoreCase(String.valueOf(item.get("subtype")))) {
+                cityCode = iata;
+            }
+
+            result.add(new RouteDestination(iata, countryCode, cityCode));
+        }
+        return List.copyOf(result);
+    }
+
+    private void persist(String origin, List<RouteDestination> destinations) {
+        Map<String, Airport> airports = airportRepository
+                .findAllById(destinations.stream().map(RouteDestination::iataCode).toList())
+                .stream()
+                .collect(Collectors.toMap(Airport::getIataCode, Function.identity()));
+
+        List<Airport> toSave = new ArrayList<>();
+        for (RouteDestination d : destinations) {
+            Airport airport = airports.get(d.iataCode());
+            if (airport == null) {
+                airport = new Airport(d.iataCode(), d.countryCode(), d.cityCode());
+                airports.put(d.iataCode(), airport);
+            } else {
+                airport.update(d.countryCode(), d.cityCode());
+            }
+            toSave.add(airport);
+        }
+        // merge 된(영속) 인스턴스로 교체해야 route 가 참조할 수 있음
+        airportRepository.saveAll(toSave).forEach(a -> airports.put(a.getIataCode(), a));
+
+        airportRouteRepository.deleteByOriginIata(origin);
+        airportRouteRepository.saveAll(destinations.stream()
+                .map(d -> new AirportRoute(origin, airports.get(d.iataCode())))
+                .toList());
+    }
+
+    public record RouteDestination(String iataCode, String countryCode, String cityCode) {
+        static RouteDestination of(Airport airport) {
+            return new RouteDestination(airport.getIataCode(), airport.getCountryCode(), airport.getCityCode());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.baru.backend.service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키로 동시에 들어온 작업은 처음 것 하나만 실행하고 나머지는 그 결과를 같이 받는다.
+ * 끝나면(성공/실패/전원 취소) 키를 지우므로 결과를 오래 들고 있지는 않음 — 재사용은 캐시 몫.
+ * 구독자 일부가 취소해도 남은 구독자가 있으면 원래 작업은 계속된다.
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder joined = new LongAdder();
+
+    Mono<V> execute(K key, Supplier<Mono<V>> work) {
+        return Mono.defer(() -> {
+            boolean[] created = {false};
+            Mono<V> mono = inFlight.computeIfAbsent(key, k -> {
+                created[0] = true;
+                AtomicReference<Mono<V>> self = new AtomicReference<>();
+                Mono<V> shared = work.get()
+                        .doFinally(signal -> inFlight.remove(k, self.get()))
+                        .share();
+                self.set(shared);
+                return shared;
+            });
+            (created[0] ? started : joined).increment();
+            return mono;
+        });
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /** 실제로 실행된 작업 수 */
+    long startedCount() {
+        return started.sum();
+    }
+
+    /** 진행 중인 작업에 합류한(호출을 아낀) 수 */
+    long joinedCount() {
+        return joined.sum();
+    }
+}
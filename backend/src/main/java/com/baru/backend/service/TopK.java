@@ -0,0 +1,49 @@
+package com.baru.backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToIntFunction;
+
+/**
+ * 점수(원화 가격)가 낮은 K개만 유지하는 bounded heap. 여러 스레드가 동시에 offer 해도 됨.
+ * 가득 찬 뒤에는 {@link #threshold()} 보다 싼 것만 들어오고, 들어오면 가장 비싼 것이 밀려난다.
+ */
+final class TopK<T> {
+
+    private final int k;
+    private final ToIntFunction<T> score;
+    private final PriorityQueue<T> heap; // 루트 = 현재 K번째(가장 비싼 것)
+
+    TopK(int k, ToIntFunction<T> score) {
+        this.k = k;
+        this.score = score;
+        this.heap = new PriorityQueue<>(k + 1, Comparator.comparingInt(score).reversed());
+    }
+
+    /** 들어갔으면 true */
+    synchronized boolean offer(T item) {
+        if (heap.size() < k) {
+            heap.add(item);
+            return true;
+        }
+        if (score.applyAsInt(item) >= score.applyAsInt(heap.peek())) return false;
+
+        heap.poll();
+        heap.add(item);
+        return true;
+    }
+
+    /** 이 값 이상이면 들어올 수 없음. 아직 K개가 안 찼으면 Integer.MAX_VALUE */
+    synchronized int threshold() {
+        return heap.size() < k ? Integer.MAX_VALUE : score.applyAsInt(heap.peek());
+    }
+
+    /** 싼 순서로 정렬된 복사본 */
+    synchronized List<T> sorted() {
+        List<T> result = new ArrayList<>(heap);
+        result.sort(Comparator.comparingInt(score));
+        return result;
+    }
+}
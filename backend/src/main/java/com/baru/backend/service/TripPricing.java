@@ -0,0 +1,754 @@
+package com.baru.backend.service;
+
+import com.baru.backend.dto.flight.FlightOffer;
+import com.baru.backend.dto.trip.TripSearchRequest;
+import com.baru.backend.dto.trip.TripSearchResponse;
+import com.baru.backend.service.amadeus.AmadeusFlightService;
+import com.baru.backend.service.amadeus.AmadeusHotelService;
+import com.baru.backend.service.amadeus.AmadeusLocationService;
+import com.baru.backend.service.amadeus.AmadeusUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * 검색 종류(search / stream / ±N일 / 배치)가 같이 쓰는 가격 조회.
+ * prepare(환율 / 목적지 후보 / 캘린더), 목적지별 호출 계획, 편도 / 왕복 / 호텔 조회(합류 + 개별 timeout), 카드 / 응답 만들기.
+ * 들고 있는 상태는 진행 중인 하위 호출(single-flight)뿐이고, 검색 1건의 상태는 SearchContext 로 넘긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class TripPricing {
+
+    static final int TOP_K = 10;   // 응답에 담는 목적지 수
+
+    private final AmadeusFlightService amadeusFlightService;
+    private final ExchangeRateService exchangeRateService;
+    private final AmadeusHotelService amadeusHotelService;
+    private final AmadeusLocationService amadeusLocationService;
+    private final RouteGraphService routeGraphService;
+    private final FareCalendarService fareCalendarService;
+    private final TripResultStore tripResultStore;
+    private final Scheduler amadeusScheduler;
+    private final MeterRegistry meterRegistry;
+
+    // 진행 중인 동일 하위 호출 합치기(편도 / 왕복 / 호텔) — 검색 종류와 상관없이 같이 씀
+    private final SingleFlight<LegKey, List<FlightOffer>> legFlight = new SingleFlight<>();
+    private final SingleFlight<RoundTripKey, List<FlightOffer>> roundTripFlight = new SingleFlight<>();
+    private final SingleFlight<HotelKey, TripSearchResponse.HotelCard> hotelFlight = new SingleFlight<>();
+
+    @Value("${trip.search.call-timeout:10s}")
+    private Duration callTimeout;    // 외부 호출 1건당 timeout
+
+    @Value("${trip.search.hotel-timeout:5s}")
+    private Duration hotelTimeout;   // 목적지별 호텔 조회(도시코드 → 호텔목록 → 최저가) 전체 timeout
+
+    @Value("${trip.search.reactive-calls:true}")
+    private boolean reactiveCalls;   // true 면 편도/호텔 조회를 논블로킹(WebClient 그대로), false 면 amadeusScheduler 에서 블로킹
+
+    @Value("${trip.search.planner.round-trip:true}")
+    private boolean roundTripPlanning;   // 귀국 공항 = 출발 공항이면 편도 2건 대신 왕복 1건
+
+    @Value("${trip.search.planner.compare-one-ways:false}")
+    private boolean compareOneWays;      // 왕복을 쓸 때도 편도 2건을 같이 조회해서 더 싼 쪽(호출 수는 늘어남)
+
+    @Value("${trip.search.max-origins:3}")
+    private int maxOrigins;          // 여러 출발 공항 검색에서 받는 공항 수 상한(공항마다 후보 최대 20곳)
+
+    @PostConstruct
+    void init() {
+        registerFlightMetrics(meterRegistry, "leg", legFlight);
+        registerFlightMetrics(meterRegistry, "round-trip", roundTripFlight);
+        registerFlightMetrics(meterRegistry, "hotel", hotelFlight);
+    }
+
+    /** 합류(coalesced) 수 = 아낀 호출 수, in-flight = 지금 진행 중인 작업 수 */
+    static void registerFlightMetrics(MeterRegistry meterRegistry, String kind, SingleFlight<?, ?> flight) {
+        FunctionCounter.builder("trip.search.coalesced", flight, SingleFlight::joinedCount)
+                .tag("kind", kind)
+                .register(meterRegistry);
+        Gauge.builder("trip.search.in-flight", flight, SingleFlight::inFlightCount)
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    // ===== prepare =====
+
+    PreparedSearch prepare(TripSearchRequest req) {
+        return prepare(req, new PrepareMemo());
+    }
+
+    /** 배치: 요청끼리 prepare 조회를 공유할 memo */
+    PrepareMemo memo() {
+        return new PrepareMemo();
+    }
+
+    /** 1) 환율 2) 입력값 정리 3) 목적지 후보(출발 공항별 후보를 목적지 단위로 합침) + 가격 캘린더 */
+    PreparedSearch prepare(TripSearchRequest req, PrepareMemo memo) {
+
+        // 1) 환율 (base=KRW) — 메모리 스냅샷
+        ExchangeRateService.RateSnapshot rateSnapshot = memo.rates();
+        Map<String, Double> ratesMap = rateSnapshot.rates();
+
+        // 2) 입력값 정리(프론트가 안 보내면 기본값)
+        String departDate = req.getDepartDate();
+        String returnDate = req.getReturnDate();
+        int adults = Math.max(1, req.getPeople());
+
+        // 출발공항(여러 개면 ICN,GMP 처럼 가까운 공항들)
+        List<String> origins = checkedOrigins(req);
+
+        boolean isDomestic = Boolean.TRUE.equals(req.getDomestic()); // null이면 false(국외)로 처리
+
+        // 3) 목적지 후보 뽑기 (DB 에서 올려둔 직항 노선 그래프)
+        Map<String, List<Dest>> routes = stageTimer("candidates").record(() -> {
+            Map<String, List<Dest>> byOrigin = new LinkedHashMap<>();
+            origins.forEach(origin -> byOrigin.put(origin, memo.candidates(origin, isDomestic)));
+            return byOrigin;
+        });
+
+        // 귀국공항(요구사항: 출발과 다를 수 있음) — 안 보내면 출발 공항마다 각자 그 공항으로 귀국
+        // 가격 캘린더에 fresh 한 편도가 있으면 그 구간은 실시간 조회 생략
+        List<Origin> departures = stageTimer("fares").record(() -> origins.stream()
+                .map(origin -> {
+                    String homeReturn = homeReturnOf(req, origin);
+                    return new Origin(origin, homeReturn,
+                            memo.fares(origin, departDate, homeReturn, returnDate, adults));
+                })
+                .toList());
+
+        SearchContext ctx = new SearchContext(
+                departDate, returnDate, adults, req.getBudgetWon(), ratesMap,
+                new TopK<>(TOP_K, p -> p.flight().getPriceWon())
+        );
+        return new PreparedSearch(rateSnapshot, ctx, mergeCandidates(departures, routes));
+    }
+
+    /**
+     * 출발 공항별 후보를 목적지 하나당 1건으로 합침(그 목적지로 가는 출발 공항 목록을 가짐).
+     * 다른 출발 공항으로 가는 편(ICN → GMP 등)은 제외.
+     */
+    private static List<Candidate> mergeCandidates(List<Origin> departures, Map<String, List<Dest>> routes) {
+        Set<String> originCodes = departures.stream().map(Origin::code).collect(Collectors.toSet());
+
+        Map<String, Dest> dests = new LinkedHashMap<>();
+        Map<String, List<Origin>> originsByDest = new HashMap<>();
+        for (Origin origin : departures) {
+            for (Dest d : routes.get(origin.code())) {
+                if (originCodes.contains(d.iata)) continue;
+                dests.putIfAbsent(d.iata, d);
+                originsByDest.computeIfAbsent(d.iata, k -> new ArrayList<>()).add(origin);
+            }
+        }
+
+        List<Candidate> candidates = new ArrayList<>(dests.size());
+        dests.forEach((iata, d) -> candidates.add(new Candidate(d, List.copyOf(originsByDest.get(iata)))));
+        return candidates;
+    }
+
+    List<Dest> candidatesOf(String origin, boolean isDomestic) {
+        return filterCandidates(routeGraphService.destinations(origin), origin, isDomestic);
+    }
+
+    /** I/O 없는 CPU 구간은 static — src/jmh 벤치마크가 같은 패키지에서 직접 호출 */
+    static List<Dest> filterCandidates(
+            List<RouteGraphService.RouteDestination> routes,
+            String origin,
+            boolean isDomestic
+    ) {
+        List<Dest> candidates = new ArrayList<>();
+        for (RouteGraphService.RouteDestination route : routes) {
+            String destIata = route.iataCode();
+            String countryCode = route.countryCode();
+
+            // 국내/국외 필터
+            if (isDomestic) {
+                if (!"KR".equals(countryCode)) continue;
+            } else {
+                if ("KR".equals(countryCode)) continue;
+            }
+
+            // 출발공항과 동일한 목적지는 제외
+            if (origin.equals(destIata)) continue;
+
+            candidates.add(new Dest(destIata, countryCode, route.cityCode()));
+        }
+
+        // 너무 많으면 호출량 폭발하니까 상한
+        return candidates.stream().limit(20).collect(Collectors.toList());
+    }
+
+    /** 출발공항 목록(중복 제거, 보낸 순서). originLocationCodes 가 있으면 그쪽, 없으면 originLocationCode 1개 */
+    static List<String> originsOf(TripSearchRequest req) {
+        if (req.getOriginLocationCodes() != null) {
+            List<String> origins = req.getOriginLocationCodes().stream()
+                    .filter(code -> code != null && !code.isBlank())
+                    .map(code -> code.trim().toUpperCase())
+                    .distinct()
+                    .toList();
+            if (!origins.isEmpty()) return origins;
+        }
+        return List.of(originOf(req));
+    }
+
+    /** 출발공항 1개(±N일 검색은 여러 개를 받지 않음 — originLocationCodes 만 보냈으면 첫 번째). 기본 ICN */
+    static String originOf(TripSearchRequest req) {
+        if (req.getOriginLocationCode() == null || req.getOriginLocationCode().isBlank()) {
+            return req.getOriginLocationCodes() == null ? "ICN" : req.getOriginLocationCodes().stream()
+                    .filter(code -> code != null && !code.isBlank())
+                    .map(code -> code.trim().toUpperCase())
+                    .findFirst()
+                    .orElse("ICN");
+        }
+        return req.getOriginLocationCode().trim().toUpperCase();
+    }
+
+    static String homeReturnOf(TripSearchRequest req, String origin) {
+        return hasHomeReturn(req) ? req.getDestinationLocationCode().trim().toUpperCase() : origin;
+    }
+
+    static boolean hasHomeReturn(TripSearchRequest req) {
+        return req.getDestinationLocationCode() != null && !req.getDestinationLocationCode().isBlank();
+    }
+
+    /** 출발공항 목록 + 공항 수 상한(trip.search.max-origins) 검사 */
+    List<String> checkedOrigins(TripSearchRequest req) {
+        List<String> origins = originsOf(req);
+        if (origins.size() > maxOrigins) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "출발공항은 최대 " + maxOrigins + "곳까지");
+        }
+        return origins;
+    }
+
+    static LocalDate parseDate(String date) {
+        try {
+            if (date != null) return LocalDate.parse(date);
+        } catch (DateTimeParseException ignored) {
+            // 아래에서 400
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "departDate / returnDate 는 YYYY-MM-DD 로 보내야 함");
+    }
+
+    // ===== pricing =====
+
+    /**
+     * 목적지 1곳의 항공권 카드 + 호텔. 항공권은 출발 공항마다 호출 계획(planFor)대로 왕복 1건 또는 편도 2건,
+     * 출발 공항이 여럿이면 동시에 조회해서 가장 싼 카드 1장(호텔은 목적지당 1번).
+     * 한쪽 편도(또는 왕복)만으로 이미 예산이나 현재 K번째 가격을 넘으면 나머지 조회(반대 편도, 호텔)는 취소.
+     * 호텔은 항공권과 병렬로 조회하고, 실패하거나 hotel-timeout 을 넘기면 호텔 없이 카드만 낸다.
+     * 호텔까지 나오면 항공권 + 호텔 합계로 예산을 다시 자름(항공권 단계의 컷은 항공권만 보고 한 것).
+     */
+    Mono<PricedDestination> priceDestination(Candidate c, SearchContext ctx) {
+        // 항공권이 empty 면 zip 이 호텔 조회를 취소
+        return Mono.zip(flightOf(c, ctx), cheapestHotel(c.dest(), ctx))
+                .map(t -> new PricedDestination(t.getT1(), t.getT2().orElse(null)))
+                .filter(p -> p.withinBudget(ctx.budgetWon()));
+    }
+
+    /** 목적지 1곳의 항공권 카드: 출발 공항이 여럿이면 동시에 조회해서 가장 싼 것 */
+    Mono<TripSearchResponse.FlightCard> flightOf(Candidate c, SearchContext ctx) {
+        return c.origins().size() == 1
+                ? flightFrom(c.origins().get(0), c.dest(), ctx)
+                : Flux.fromIterable(c.origins())
+                        .flatMap(origin -> flightFrom(origin, c.dest(), ctx))
+                        .reduce(TripPricing::cheaper);
+    }
+
+    /** 출발 공항 1곳 → 목적지 항공권 카드 */
+    private Mono<TripSearchResponse.FlightCard> flightFrom(Origin origin, Dest d, SearchContext ctx) {
+        return switch (countedPlan(origin, d, ctx)) {
+            case ONE_WAYS -> oneWayCard(origin, d, ctx);
+            case ROUND_TRIP -> roundTripCard(origin, d, ctx);
+            case ROUND_TRIP_OR_ONE_WAYS -> Flux.merge(roundTripCard(origin, d, ctx), oneWayCard(origin, d, ctx))
+                    .reduce(TripPricing::cheaper);
+        };
+    }
+
+    static TripSearchResponse.FlightCard cheaper(TripSearchResponse.FlightCard a, TripSearchResponse.FlightCard b) {
+        return a.getPriceWon() <= b.getPriceWon() ? a : b;
+    }
+
+    /** planFor + trip.search.plan{plan}. 목적지 × 출발공항마다 한 번만 부른다 */
+    CallPlan countedPlan(Origin origin, Dest d, SearchContext ctx) {
+        CallPlan plan = planFor(origin, d, ctx);
+        meterRegistry.counter("trip.search.plan", "plan", plan.tag).increment();
+        return plan;
+    }
+
+    /**
+     * 호출 수가 가장 적은 계획. 같은 수면 왕복(왕복 운임이 편도 두 장보다 싼 경우가 많음).
+     *  - 귀국 공항이 출발 공항과 다름: 편도 2건
+     *  - 같은 공항이고 편도 둘 다 캘린더에 있음: 편도(호출 0건)
+     *  - 같은 공항: 왕복 1건 (compare-one-ways 면 편도도 같이 받아서 더 싼 쪽)
+     */
+    private CallPlan planFor(Origin origin, Dest d, SearchContext ctx) {
+        if (!roundTripPlanning || !origin.code().equals(origin.homeReturn())) return CallPlan.ONE_WAYS;
+
+        if (compareOneWays) return CallPlan.ROUND_TRIP_OR_ONE_WAYS;
+
+        boolean bothInCalendar = origin.fares().outbound(d.iata, ctx.departDate()) != null
+                && origin.fares().inbound(d.iata, ctx.returnDate()) != null;
+        return bothInCalendar ? CallPlan.ONE_WAYS : CallPlan.ROUND_TRIP;
+    }
+
+    /**
+     * OUT / IN 편도를 동시에 조회해서 카드 1장. 둘 중 하나라도 없거나 예산 초과면 empty.
+     * 출발 공항이 여럿이고 귀국 공항이 같으면 IN 편도는 공항마다 같은 구간이라 한 번만 호출(legFlight 합류 + offer 캐시).
+     */
+    private Mono<TripSearchResponse.FlightCard> oneWayCard(Origin origin, Dest d, SearchContext ctx) {
+        String destination = d.iata;
+
+        // OUT: origin -> destination
+        Mono<List<FlightOffer>> outLeg = snapshotOrLive(origin.fares().outbound(destination, ctx.departDate()),
+                        origin.code(), destination, ctx.departDate(), ctx.adults())
+                .filter(offers -> canStillRank(offers, ctx));
+        // IN: destination -> homeReturn
+        Mono<List<FlightOffer>> inLeg = snapshotOrLive(origin.fares().inbound(destination, ctx.returnDate()),
+                        destination, origin.homeReturn(), ctx.returnDate(), ctx.adults())
+                .filter(offers -> canStillRank(offers, ctx));
+
+        return Mono.zip(outLeg, inLeg)
+                .flatMap(legs -> Mono.justOrEmpty(
+                        toFlightCard(legs.getT1(), legs.getT2(), ctx.budgetWon(), ctx.ratesMap())
+                ));
+    }
+
+    /** origin ⇄ destination 왕복 1건으로 카드 1장 */
+    private Mono<TripSearchResponse.FlightCard> roundTripCard(Origin origin, Dest d, SearchContext ctx) {
+        return roundTrip(origin.code(), d.iata, ctx.departDate(), ctx.returnDate(), ctx.adults())
+                .filter(offers -> canStillRank(offers, ctx))
+                .flatMap(offers -> Mono.justOrEmpty(
+                        toRoundTripCard(firstOffer(offers), ctx.budgetWon(), ctx.ratesMap())
+                ));
+    }
+
+    /** reactor fan-out 용 priceDestination: 실패하면 그 목적지만 빠짐(skipDestination) */
+    Mono<PricedDestination> priceOrSkip(Candidate c, SearchContext ctx) {
+        return priceDestination(c, ctx).onErrorResume(e -> skipDestination(c, e));
+    }
+
+    /**
+     * 목적지 1곳의 실패(환율 없는 통화 등)는 그 목적지만 빼고 검색은 계속. trip.search.errors{call=destination}
+     * 개별 호출 실패는 이미 각 호출에서 empty 로 바뀌므로 여기 오는 건 카드를 만드는 중의 오류.
+     */
+    <T> Mono<T> skipDestination(Candidate c, Throwable e) {
+        countError("destination", Exceptions.unwrap(e)); // block() 이 감싼 checked 예외
+        log.warn("[TRIP] destination {} skipped: {}", c.dest().iata, e.toString());
+        return Mono.empty();
+    }
+
+    static LegKey outLegKey(Origin origin, Dest d, SearchContext ctx) {
+        return new LegKey(origin.code(), d.iata, ctx.departDate(), ctx.adults());
+    }
+
+    static LegKey inLegKey(Origin origin, Dest d, SearchContext ctx) {
+        return new LegKey(d.iata, origin.homeReturn(), ctx.returnDate(), ctx.adults());
+    }
+
+    static RoundTripKey roundTripKey(Origin origin, Dest d, SearchContext ctx) {
+        return new RoundTripKey(origin.code(), d.iata, ctx.departDate(), ctx.returnDate(), ctx.adults());
+    }
+
+    static HotelKey hotelKey(Dest d, SearchContext ctx) {
+        return new HotelKey(d.iata, ctx.departDate(), ctx.returnDate(), ctx.adults());
+    }
+
+    /** 편도 하나만으로 예산 또는 현재 K번째 가격 이상이면 false → zip 이 나머지 조회를 취소 */
+    private boolean canStillRank(List<FlightOffer> offers, SearchContext ctx) {
+        FlightOffer offer = firstOffer(offers);
+        if (offer == null) return false;
+
+        int legWon = offerTotalWon(offer, ctx.ratesMap());
+        if (ctx.budgetWon() > 0 && legWon > ctx.budgetWon()) return false;
+        return legWon < ctx.top().threshold();
+    }
+
+    /** 목적지 도시의 최저가 호텔. 항상 값을 내보냄(없으면 Optional.empty) */
+    Mono<Optional<TripSearchResponse.HotelCard>> cheapestHotel(Dest d, SearchContext ctx) {
+        return hotelFlight.execute(hotelKey(d, ctx), () -> reactiveCalls ? hotelReactive(d, ctx) : hotelBlocking(d, ctx))
+                .timeout(hotelTimeout)
+                .map(Optional::of)
+                .onErrorResume(e -> {
+                    countError("hotel", e);
+                    log.warn("[TRIP] hotel {} skipped: {}", d.iata, e.toString());
+                    return Mono.empty();
+                })
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private Mono<TripSearchResponse.HotelCard> hotelReactive(Dest d, SearchContext ctx) {
+        Mono<String> cityCode = d.cityCode != null
+                ? Mono.just(d.cityCode)
+                : amadeusLocationService.resolveCityCodeReactive(d.iata);
+
+        return cityCode.flatMap(city -> amadeusHotelService.listHotelsByCityReactive(city, 20)
+                .flatMap(metas -> amadeusHotelService.findCheapestHotelOfferReactive(
+                        city, metas, ctx.departDate(), ctx.returnDate(), ctx.adults()
+                )));
+    }
+
+    private Mono<TripSearchResponse.HotelCard> hotelBlocking(Dest d, SearchContext ctx) {
+        return Mono.fromCallable(() -> {
+                    String cityCode = d.cityCode != null ? d.cityCode : amadeusLocationService.resolveCityCode(d.iata);
+                    if (cityCode == null) return null;
+
+                    List<AmadeusHotelService.HotelMeta> metas = amadeusHotelService.listHotelsByCity(cityCode, 20);
+                    return amadeusHotelService.findCheapestHotelOffer(
+                            cityCode, metas, ctx.departDate(), ctx.returnDate(), ctx.adults()
+                    );
+                })
+                .subscribeOn(amadeusScheduler);
+    }
+
+    /** 캘린더 스냅샷에 있으면 그 값(항공편 없음 포함), 없으면 실시간 조회. trip.search.legs{source} */
+    Mono<List<FlightOffer>> snapshotOrLive(List<FlightOffer> snapshot, String from, String to, String date, int adults) {
+        meterRegistry.counter("trip.search.legs", "source", snapshot != null ? "calendar" : "live").increment();
+        if (snapshot != null) return Mono.just(snapshot);
+        return oneWayLeg(from, to, date, adults);
+    }
+
+    /** 왕복 1건. 편도와 같은 방식(합류 / 개별 timeout / 실패하면 empty) */
+    Mono<List<FlightOffer>> roundTrip(String origin, String destination, String departDate, String returnDate, int adults) {
+        return roundTripFlight.execute(new RoundTripKey(origin, destination, departDate, returnDate, adults), () -> reactiveCalls
+                        ? amadeusFlightService.findOffersRoundTripReactive(origin, destination, departDate, returnDate, adults, 1, "KRW")
+                        : Mono.fromCallable(() -> amadeusFlightService.findOffersRoundTrip(
+                                        origin, destination, departDate, returnDate, adults, 1, "KRW"))
+                                .subscribeOn(amadeusScheduler))
+                .timeout(callTimeout)
+                .onErrorResume(e -> {
+                    countError("flight-offers-round-trip", e);
+                    log.warn("[TRIP] flight-offers {}<->{} {}~{} skipped: {}", origin, destination, departDate, returnDate, e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    /** 편도 1건. 호출마다 개별 timeout, 실패하면 해당 목적지만 빠지도록 empty */
+    Mono<List<FlightOffer>> oneWayLeg(String from, String to, String date, int adults) {
+        // 동시에 진행 중인 다른 검색과 같은 편도면 그 호출에 합류(한쪽이 취소해도 다른 쪽은 계속)
+        // 받은 최저가는 받은 시각 그대로 flight_fare 에 write-behind(stale 대체 응답은 제외)
+        // → 재시작/다른 노드의 검색이 live-max-age 동안 스냅샷으로 읽음
+        return legFlight.execute(new LegKey(from, to, date, adults), () -> (reactiveCalls
+                        ? amadeusFlightService.fetchedOffersOneWayReactive(from, to, date, adults, 1, "KRW")
+                        : Mono.fromCallable(() -> amadeusFlightService.fetchedOffersOneWay(from, to, date, adults, 1, "KRW"))
+                                .subscribeOn(amadeusScheduler))
+                        .doOnNext(fetched -> tripResultStore.saveFareLater(from, to, date, adults, fetched))
+                        .map(AmadeusFlightService.FetchedOffers::offers))
+                .timeout(callTimeout)
+                .onErrorResume(e -> {
+                    countError("flight-offers", e);
+                    log.warn("[TRIP] flight-offers {}->{} {} skipped: {}", from, to, date, e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    // ===== response =====
+
+    /** priced 는 가격 낮은 순 */
+    TripSearchResponse toResponse(
+            TripSearchRequest req,
+            ExchangeRateService.RateSnapshot rateSnapshot,
+            List<PricedDestination> priced
+    ) {
+        // 5) 예산 계산 / 6) 응답
+        return TripSearchResponse.builder()
+                .requested(req)
+                .searchedAt(Instant.now().toString())
+                .exchange(exchangeOf(rateSnapshot))
+                .budget(budgetOf(req.getBudgetWon(), priced))
+                .flights(flightsOf(priced))
+                .hotels(hotelsOf(priced))
+                .build();
+    }
+
+    /** 카드마다 hotelIncluded = 이 목적지의 호텔이 hotels 에 있는지 */
+    static List<TripSearchResponse.FlightCard> flightsOf(List<PricedDestination> priced) {
+        return priced.stream()
+                .map(p -> p.flight().toBuilder().hotelIncluded(p.hotel() != null).build())
+                .toList();
+    }
+
+    /** 호텔을 구한 목적지만(null 없음), flights 와 같은 순서 */
+    static List<TripSearchResponse.HotelCard> hotelsOf(List<PricedDestination> priced) {
+        return priced.stream()
+                .map(PricedDestination::hotel)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    TripSearchResponse.Exchange exchangeOf(ExchangeRateService.RateSnapshot rateSnapshot) {
+        return TripSearchResponse.Exchange.builder()
+                .base("KRW")
+                .rates(TripSearchResponse.Rates.builder()
+                        .JPY(rateSnapshot.rates().get("JPY"))
+                        .USD(rateSnapshot.rates().get("USD"))
+                        .build())
+                .updatedAt(rateSnapshot.updatedAt().toString())
+                .build();
+    }
+
+    /**
+     * 예산 계산: 호텔 가격이 있는 목적지 중 항공권 + 호텔 합계가 가장 싼 곳 기준.
+     * 호텔 조회가 실패한 목적지를 0원 호텔로 치면 가장 싸 보이므로 빼고, 호텔이 하나도 없으면 항공권만(hotelIncluded=false).
+     */
+    TripSearchResponse.Budget budgetOf(int budgetWon, List<PricedDestination> priced) {
+        OptionalInt withHotel = priced.stream()
+                .filter(p -> p.hotel() != null)
+                .mapToInt(PricedDestination::totalWon)
+                .min();
+        int estimatedTotalWon = withHotel.isPresent()
+                ? withHotel.getAsInt()
+                : priced.stream().mapToInt(p -> p.flight().getPriceWon()).min().orElse(0);
+
+        return TripSearchResponse.Budget.builder()
+                .budgetWon(budgetWon)
+                .estimatedTotalWon(estimatedTotalWon)
+                .remainingWon(budgetWon - estimatedTotalWon)
+                .hotelIncluded(withHotel.isPresent())
+                .build();
+    }
+
+    // ===== metrics =====
+
+    /** trip.search.stage{stage=rates|candidates|fares|pricing|ranking} */
+    Timer stageTimer(String stage) {
+        return Timer.builder("trip.search.stage")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /** 구독 ~ 완료(또는 취소)까지를 stage 시간으로 기록 */
+    <T> Flux<T> timedStage(String stage, Flux<T> flux) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return flux.doFinally(signal -> sample.stop(stageTimer(stage)));
+        });
+    }
+
+    /** 목적지 단위로 삼킨 오류(검색 자체는 계속됨) */
+    void countError(String call, Throwable e) {
+        String cause = e instanceof TimeoutException ? "timeout"
+                : e instanceof AmadeusUnavailableException ? "circuit-open"
+                : "error";
+        meterRegistry.counter("trip.search.errors", "call", call, "cause", cause).increment();
+    }
+
+    TripSearchResponse.FlightCard toFlightCard(
+            List<FlightOffer> outOffers,
+            List<FlightOffer> inOffers,
+            int budgetWon,
+            Map<String, Double> ratesMap
+    ) {
+        FlightOffer outOffer = firstOffer(outOffers);
+        FlightOffer inOffer = firstOffer(inOffers);
+        if (outOffer == null || inOffer == null) return null;
+
+        int outWon = offerTotalWon(outOffer, ratesMap);
+        int inWon = offerTotalWon(inOffer, ratesMap);
+        int totalWon = outWon + inWon;
+
+        // 예산 컷(원하면 비율로 조정 가능)
+        if (budgetWon > 0 && totalWon > budgetWon) {
+            return null;
+        }
+
+        // 화면 표시용: OUT 편도 기준 정보(시간/구간)
+        return flightCard(parseItinerary0(outOffer), totalWon);
+    }
+
+    /** 왕복 offer 1건(itineraries = [가는편, 오는편]) → 카드. 표시는 가는편 기준 */
+    TripSearchResponse.FlightCard toRoundTripCard(FlightOffer offer, int budgetWon, Map<String, Double> ratesMap) {
+        if (offer == null || offer.itineraries().isEmpty()) return null;
+
+        int totalWon = offerTotalWon(offer, ratesMap);
+        if (budgetWon > 0 && totalWon > budgetWon) {
+            return null;
+        }
+        return flightCard(parseItinerary0(offer), totalWon);
+    }
+
+    private static TripSearchResponse.FlightCard flightCard(ItinInfo outItin, int totalWon) {
+        return TripSearchResponse.FlightCard.builder()
+                .airline(outItin.airline)
+                .priceWon(totalWon) // ✅ 왕복 총액
+                .departureAirport(outItin.depAirport)
+                .departureTime(outItin.depTime)
+                .arrivalAirport(outItin.arrAirport)  // ✅ 추천 목적지
+                .arrivalTime(outItin.arrTime)
+                .durationMinutes(outItin.durationMinutes)
+                .stops(outItin.stops)
+                .segments(outItin.segments)
+                .build();
+    }
+
+    static FlightOffer firstOffer(List<FlightOffer> offers) {
+        if (offers == null || offers.isEmpty()) return null;
+        return offers.get(0);
+    }
+
+    static int offerTotalWon(FlightOffer offer, Map<String, Double> ratesMap) {
+        return toKrw(offer.currency(), offer.total(), ratesMap);
+    }
+
+    static ItinInfo parseItinerary0(FlightOffer offer) {
+        FlightOffer.Itinerary itin0 = offer.itineraries().get(0);
+
+        List<FlightOffer.Segment> segments = itin0.segments();
+        FlightOffer.Segment first = segments.get(0);
+        FlightOffer.Segment last = segments.get(segments.size() - 1);
+
+        int stops = Math.max(0, segments.size() - 1);
+
+        List<TripSearchResponse.Segment> segDtos = new ArrayList<>(segments.size());
+        for (FlightOffer.Segment s : segments) {
+            segDtos.add(TripSearchResponse.Segment.builder()
+                    .flightNo(s.carrierCode() + s.number())
+                    .from(s.from())
+                    .to(s.to())
+                    .depTime(s.departureAt())
+                    .arrTime(s.arrivalAt())
+                    .build());
+        }
+
+        return new ItinInfo(
+                first.carrierCode(),
+                first.from(), first.departureAt(),
+                last.to(), last.arrivalAt(),
+                itin0.durationMinutes(),
+                stops,
+                segDtos
+        );
+    }
+
+    static int toKrw(String currency, double amount, Map<String, Double> ratesMap) {
+        if ("KRW".equalsIgnoreCase(currency)) return (int) Math.round(amount);
+
+        Double rate = ratesMap.get(currency.toUpperCase());
+        if (rate == null || rate == 0) {
+            throw new IllegalStateException("환율 없음: " + currency);
+        }
+        // (너희 ExchangeRateService가 KRW base일 때) amount / rate 로 KRW 환산하던 기존 로직 유지 :contentReference[oaicite:6]{index=6}
+        return (int) Math.round(amount / rate);
+    }
+
+    record Dest(String iata, String countryCode, String cityCode) {}
+
+    /** 항공권 조회 1건(배치 호출 계획의 단위) */
+    sealed interface FlightCall permits LegKey, RoundTripKey {}
+
+    record LegKey(String from, String to, String date, int adults) implements FlightCall {}
+
+    record RoundTripKey(String origin, String destination, String departDate, String returnDate, int adults)
+            implements FlightCall {}
+
+    /** 목적지별 항공권 호출 계획(trip.search.plan{plan}) */
+    enum CallPlan {
+        ONE_WAYS("one-ways"),
+        ROUND_TRIP("round-trip"),
+        ROUND_TRIP_OR_ONE_WAYS("round-trip-vs-one-ways");
+
+        private final String tag;
+
+        CallPlan(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    record HotelKey(String destination, String checkIn, String checkOut, int adults) {}
+
+    record PreparedSearch(
+            ExchangeRateService.RateSnapshot rateSnapshot,
+            SearchContext ctx,
+            List<Candidate> candidates
+    ) {}
+
+    private record RouteQuery(String origin, boolean domestic) {}
+
+    private record FareQuery(String origin, String departDate, String homeReturn, String returnDate, int adults) {}
+
+    /**
+     * prepare 의 조회(환율 / 목적지 후보 / 캘린더 스냅샷)를 같은 조건이면 한 번만.
+     * 검색 1건이면 새로 만들어서 그냥 조회, 배치면 요청끼리 공유. prepare 스레드 하나에서만 쓴다.
+     */
+    final class PrepareMemo {
+        private ExchangeRateService.RateSnapshot rates;
+        private final Map<RouteQuery, List<Dest>> candidates = new HashMap<>();
+        private final Map<FareQuery, FareCalendarService.FareSnapshot> fares = new HashMap<>();
+
+        ExchangeRateService.RateSnapshot rates() {
+            if (rates == null) rates = stageTimer("rates").record(() -> exchangeRateService.snapshot("KRW"));
+            return rates;
+        }
+
+        List<Dest> candidates(String origin, boolean isDomestic) {
+            return candidates.computeIfAbsent(new RouteQuery(origin, isDomestic),
+                    q -> candidatesOf(origin, isDomestic));
+        }
+
+        FareCalendarService.FareSnapshot fares(String origin, String departDate, String homeReturn, String returnDate, int adults) {
+            return fares.computeIfAbsent(new FareQuery(origin, departDate, homeReturn, returnDate, adults),
+                    q -> fareCalendarService.snapshot(origin, departDate, homeReturn, returnDate, adults));
+        }
+
+        int routeLookups() {
+            return candidates.size();
+        }
+    }
+
+    /** 출발 공항 1곳: 귀국 공항 + 그 공항 기준 캘린더 스냅샷 */
+    record Origin(String code, String homeReturn, FareCalendarService.FareSnapshot fares) {}
+
+    /** 목적지 1곳 + 그 목적지로 직항이 있는 출발 공항들 */
+    record Candidate(Dest dest, List<Origin> origins) {}
+
+    /** 검색 1건 동안 변하지 않는 입력값 */
+    record SearchContext(
+            String departDate,
+            String returnDate,
+            int adults,
+            int budgetWon,
+            Map<String, Double> ratesMap,
+            TopK<PricedDestination> top  // 검색 1건 동안 공유하는 가장 싼 K개
+    ) {}
+
+    record PricedDestination(TripSearchResponse.FlightCard flight, TripSearchResponse.HotelCard hotel) {
+        /** 항공권 + 호텔. 호텔이 없으면 항공권만 */
+        int totalWon() {
+            return flight.getPriceWon() + (hotel == null ? 0 : hotel.getTotalWon());
+        }
+
+        /** 호텔까지 포함해 예산 안인지. 호텔이 없으면 항공권만 본다(항공권은 이미 예산 안) */
+        boolean withinBudget(int budgetWon) {
+            return budgetWon <= 0 || totalWon() <= budgetWon;
+        }
+    }
+    record ItinInfo(
+            String airline,
+            String depAirport, String depTime,
+            String arrAirport, String arrTime,
+            int durationMinutes,
+            int stops,
+            List<TripSearchResponse.Segment> segments
+    ) {}
+}
@@ -0,0 +1,176 @@
+package com.baru.backend.service;
+
+import com.baru.backend.dto.trip.TripSearchRequest;
+import com.baru.backend.dto.trip.TripSearchResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 검색 결과 로컬 캐시 + DB(trip_search_result) read-through. search 와 배치가 같은 결과를 같이 쓴다.
+ * trip.search.results{source=local|database|search}
+ */
+@Component
+@RequiredArgsConstructor
+class TripResultCache {
+
+    private final TripResultStore tripResultStore;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${trip.store.result-max-age:PT10M}")
+    private Duration resultMaxAge;   // 검색 결과를 다시 쓰는 기간(로컬 캐시 / DB 공통, 검색 시각 기준)
+
+    @Value("${trip.search.result-cache.max-size:1000}")
+    private long resultCacheMaxSize;
+
+    /** 검색 결과 로컬 캐시. miss 면 DB(trip_search_result) → 그래도 없으면 실제 검색 */
+    private Cache<SearchKey, TripSearchResponse> resultCache;
+
+    @PostConstruct
+    void init() {
+        // DB 에서 읽어온 결과도 검색 시각 기준 resultMaxAge 까지만 (읽은 시점부터 다시 세지 않음)
+        resultCache = Caffeine.newBuilder()
+                .maximumSize(resultCacheMaxSize)
+                .expireAfter(new Expiry<SearchKey, TripSearchResponse>() {
+                    @Override
+                    public long expireAfterCreate(SearchKey key, TripSearchResponse value, long currentTime) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(SearchKey key, TripSearchResponse value, long currentTime, long currentDuration) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(SearchKey key, TripSearchResponse value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, resultCache, "trip-search-results");
+    }
+
+    /**
+     * 로컬 캐시 → DB(trip_search_result) → 실제 검색. 새로 검색한 결과는 로컬 캐시 + DB write-behind.
+     * 재시작 직후나 다른 노드에서 이미 검색한 조건이면 Amadeus 대신 DB 에서 채운다.
+     */
+    Mono<TripSearchResponse> readThrough(SearchKey key, Supplier<Mono<TripSearchResponse>> search) {
+        return Mono.defer(() -> {
+            TripSearchResponse local = local(key);
+            if (local != null) return Mono.just(local);
+
+            return Mono.fromCallable(() -> tripResultStore.findResponse(key.id()))
+                    .subscribeOn(Schedulers.boundedElastic()) // JDBC — Amadeus 호출용 스레드는 잡지 않음
+                    .flatMap(Mono::justOrEmpty)
+                    .doOnNext(stored -> {
+                        countResult("database");
+                        resultCache.put(key, stored);
+                    })
+                    .switchIfEmpty(Mono.defer(search).doOnNext(searched -> {
+                        countResult("search");
+                        remember(key, searched);
+                    }));
+        });
+    }
+
+    /** 로컬 캐시에 있는 결과. 없으면 null */
+    TripSearchResponse local(SearchKey key) {
+        TripSearchResponse local = resultCache.getIfPresent(key);
+        if (local != null) countResult("local");
+        return local;
+    }
+
+    /** DB 에 있는 결과를 한 번에(JDBC — 블로킹 구간에서). 찾은 것은 로컬 캐시에도 넣음 */
+    Map<SearchKey, TripSearchResponse> stored(Collection<SearchKey> keys) {
+        Map<String, SearchKey> byId = keys.stream().collect(Collectors.toMap(SearchKey::id, key -> key, (a, b) -> a));
+        Map<SearchKey, TripSearchResponse> found = new HashMap<>();
+        tripResultStore.findResponses(byId.keySet()).forEach((id, stored) -> {
+            SearchKey key = byId.get(id);
+            if (key == null) return;
+            countResult("database");
+            resultCache.put(key, stored);
+            found.put(key, stored);
+        });
+        return found;
+    }
+
+    /** 항공권이 하나도 없는 결과는 장애(circuit open 등)로 비었을 수 있어서 다시 쓰지 않음 */
+    void remember(SearchKey key, TripSearchResponse response) {
+        if (response.getFlights() == null || response.getFlights().isEmpty()) return;
+        resultCache.put(key, response);
+        tripResultStore.saveResponseLater(key.id(), response);
+    }
+
+    /** 합쳐진 결과에는 먼저 들어온 요청이 담겨 있으므로 호출자 요청으로 바꿔서 돌려줌 */
+    static TripSearchResponse echo(TripSearchResponse shared, TripSearchRequest req) {
+        if (shared == null || shared.getRequested() == req) return shared;
+        return shared.toBuilder().requested(req).build();
+    }
+
+    private void countResult(String source) {
+        meterRegistry.counter("trip.search.results", "source", source).increment();
+    }
+
+    /** 검색 시각부터 resultMaxAge 까지 남은 시간(ns) */
+    private long remainingNanos(TripSearchResponse response) {
+        try {
+            Duration age = Duration.between(Instant.parse(response.getSearchedAt()), Instant.now());
+            return Math.max(0, resultMaxAge.minus(age).toNanos());
+        } catch (RuntimeException e) {
+            return resultMaxAge.toNanos();
+        }
+    }
+
+    /** 결과가 같아지는 검색 조건(기본값 적용 후). 출발공항 여러 개는 순서와 상관없이 같은 키 */
+    record SearchKey(
+            int budgetWon,
+            int adults,
+            String departDate,
+            String returnDate,
+            boolean domestic,
+            String origin,       // ICN 또는 GMP,ICN(정렬)
+            String homeReturn    // 귀국공항을 안 보낸 여러 출발 공항 검색이면 * (각자 출발 공항으로)
+    ) {
+        /** DB(trip_search_result.search_key) 용 문자열 */
+        String id() {
+            return String.join("|", String.valueOf(budgetWon), String.valueOf(adults), departDate, returnDate,
+                    String.valueOf(domestic), origin, homeReturn);
+        }
+
+        static SearchKey of(TripSearchRequest req) {
+            List<String> origins = TripPricing.originsOf(req);
+            String origin = origins.size() == 1 ? origins.get(0) : String.join(",", origins.stream().sorted().toList());
+            String homeReturn = origins.size() == 1 || TripPricing.hasHomeReturn(req)
+                    ? TripPricing.homeReturnOf(req, origins.get(0))
+                    : "*";
+            return new SearchKey(
+                    req.getBudgetWon(),
+                    Math.max(1, req.getPeople()),
+                    req.getDepartDate(),
+                    req.getReturnDate(),
+                    Boolean.TRUE.equals(req.getDomestic()),
+                    origin,
+                    homeReturn
+            );
+        }
+    }
+}
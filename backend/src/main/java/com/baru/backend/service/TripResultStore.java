@@ -0,0 +1,311 @@
+package com.baru.backend.service;
+
+import com.baru.backend.domain.FlightFare;
+import com.baru.backend.domain.TripSearchResult;
+import com.baru.backend.dto.flight.FlightOffer;
+import com.baru.backend.dto.trip.TripSearchResponse;
+import com.baru.backend.repository.FlightFareRepository;
+import com.baru.backend.repository.TripSearchResultRepository;
+import com.baru.backend.service.amadeus.AmadeusFlightService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 검색 결과의 MySQL 저장소(write-behind + read-through).
+ *  - 실시간으로 조회한 편도 최저가 → flight_fare (가격 캘린더와 같은 테이블, source=LIVE 로 다음 검색의 스냅샷에 읽힘)
+ *  - 검색 1건의 TripSearchResponse → trip_search_result (로컬 캐시 miss 때 읽음)
+ * 쓰기는 요청 경로에서 대기열에 넣기만 하고 전용 스레드가 flush-interval 마다 묶어서 저장한다.
+ * 대기열이 가득 차거나 저장이 실패하면 버린다(캐시라서 유실돼도 다시 조회하면 됨).
+ */
+@Slf4j
+@Service
+public class TripResultStore {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false); // 필드가 늘어도 예전 행은 읽히도록
+
+    private final FlightFareRepository flightFareRepository;
+    private final TripSearchResultRepository tripSearchResultRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final Duration resultMaxAge;
+    private final int batchSize;
+    private final int maxPending;
+
+    // 키별 마지막 값만 남김(같은 키가 flush 전에 여러 번 오면 덮어씀)
+    private final ConcurrentMap<FareId, PendingFare> pendingFares = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, TripSearchResponse> pendingResults = new ConcurrentHashMap<>();
+
+    // 최근에 넣은 편도는 다시 쓰지 않음(검색마다 같은 캐시 hit 를 반복 저장하지 않도록). 저장에 실패한 묶음은 빼서 다음 검색이 다시 넣음
+    private final Cache<FareId, Boolean> recentFares;
+
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "trip-store-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public TripResultStore(
+            FlightFareRepository flightFareRepository,
+            TripSearchResultRepository tripSearchResultRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${trip.store.enabled:true}") boolean enabled,
+            @Value("${trip.store.result-max-age:PT10M}") Duration resultMaxAge,
+            @Value("${trip.store.flush-interval:PT2S}") Duration flushInterval,
+            @Value("${trip.store.batch-size:500}") int batchSize,
+            @Value("${trip.store.max-pending:10000}") int maxPending,
+            @Value("${amadeus.cache.flight-offers.ttl:10m}") Duration fareRewriteAfter
+    ) {
+        this.flightFareRepository = flightFareRepository;
+        this.tripSearchResultRepository = tripSearchResultRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.resultMaxAge = resultMaxAge;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxPending = maxPending;
+        this.recentFares = Caffeine.newBuilder()
+                .maximumSize(maxPending)
+                .expireAfterWrite(fareRewriteAfter)
+                .build();
+
+        Gauge.builder("trip.store.pending", pendingFares, Map::size).tag("kind", "fare").register(meterRegistry);
+        Gauge.builder("trip.store.pending", pendingResults, Map::size).tag("kind", "result").register(meterRegistry);
+
+        if (enabled) {
+            long flushMillis = flushInterval.toMillis();
+            writer.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+            writer.scheduleWithFixedDelay(this::purgeExpiredResults, 1, 1, TimeUnit.HOURS);
+        }
+    }
+
+    /** 저장된 검색 결과. 없거나 result-max-age 보다 오래됐거나 DB 실패면 empty (블로킹) */
+    public Optional<TripSearchResponse> findResponse(String searchKey) {
+        if (!enabled) return Optional.empty();
+        try {
+            LocalDateTime freshSince = LocalDateTime.now().minus(resultMaxAge);
+            return tripSearchResultRepository.findBySearchKey(searchKey)
+                    .filter(r -> !r.getSearchedAt().isBefore(freshSince))
+                    .map(r -> readResponse(r.getResponseJson()));
+        } catch (Exception e) {
+            meterRegistry.counter("trip.store.errors", "op", "read").increment();
+            log.warn("[TRIP] stored result read failed key={}", searchKey, e);
+            return Optional.empty();
+        }
+    }
+
+    /** findResponse 의 여러 건 버전(배치 검색). 찾은 것만 searchKey → 결과, DB 실패면 빈 map (블로킹) */
+    public Map<String, TripSearchResponse> findResponses(Collection<String> searchKeys) {
+        if (!enabled || searchKeys.isEmpty()) return Map.of();
+        try {
+            LocalDateTime freshSince = LocalDateTime.now().minus(resultMaxAge);
+            return tripSearchResultRepository.findBySearchKeyIn(searchKeys).stream()
+                    .filter(r -> !r.getSearchedAt().isBefore(freshSince))
+                    .collect(Collectors.toMap(TripSearchResult::getSearchKey, r -> readResponse(r.getResponseJson())));
+        } catch (Exception e) {
+            meterRegistry.counter("trip.store.errors", "op", "read").increment();
+            log.warn("[TRIP] stored results read failed keys={}", searchKeys.size(), e);
+            return Map.of();
+        }
+    }
+
+    /** 검색 결과를 나중에 저장(대기열에 넣기만 함) */
+    public void saveResponseLater(String searchKey, TripSearchResponse response) {
+        if (!enabled) return;
+        if (pendingResults.size() >= maxPending) {
+            meterRegistry.counter("trip.store.dropped", "kind", "result").increment();
+            return;
+        }
+        pendingResults.put(searchKey, response);
+    }
+
+    /**
+     * 실시간으로 조회한 편도 최저가를 나중에 flight_fare 에 저장(받은 시각 그대로, 항공편이 없으면 그것도).
+     * 장애 때 대신 받은 지난 응답(stale)은 저장하지 않음 — 새 값으로 보이면 캘린더 max-age 동안 검색에 쓰임.
+     */
+    public void saveFareLater(String from, String to, String date, int adults, AmadeusFlightService.FetchedOffers fetched) {
+        if (!enabled || fetched.stale()) return;
+        FareId id;
+        try {
+            id = new FareId(from, to, LocalDate.parse(date), adults);
+        } catch (DateTimeParseException e) {
+            return;
+        }
+        if (recentFares.asMap().putIfAbsent(id, Boolean.TRUE) != null) return;
+        if (pendingFares.size() >= maxPending) {
+            recentFares.invalidate(id);
+            meterRegistry.counter("trip.store.dropped", "kind", "fare").increment();
+            return;
+        }
+        LocalDateTime fetchedAt = LocalDateTime.ofInstant(fetched.fetchedAt(), ZoneId.systemDefault());
+        pendingFares.put(id, new PendingFare(TripPricing.firstOffer(fetched.offers()), fetchedAt));
+    }
+
+    /** 종료 시 남은 대기열을 한 번 더 저장 */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+        if (enabled) flush();
+    }
+
+    // ===== helpers =====
+
+    private void flush() {
+        while (!pendingFares.isEmpty()) {
+            Map<FareId, PendingFare> batch = drain(pendingFares);
+            write("fare", batch.size(), () -> upsertFares(batch), () -> recentFares.invalidateAll(batch.keySet()));
+        }
+        while (!pendingResults.isEmpty()) {
+            Map<String, TripSearchResponse> batch = drain(pendingResults);
+            write("result", batch.size(), () -> upsertResults(batch), () -> {});
+        }
+    }
+
+    /** onFailure: 이번 묶음을 버릴 때(다시 들어올 수 있게 정리) */
+    private void write(String kind, int size, Runnable upsert, Runnable onFailure) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> upsert.run());
+            meterRegistry.counter("trip.store.written", "kind", kind).increment(size);
+        } catch (Exception e) {
+            // 다른 노드/가격 캘린더와 같은 키를 동시에 insert 한 경우 등 — 이번 묶음만 버림
+            meterRegistry.counter("trip.store.errors", "op", "write-" + kind).increment();
+            log.warn("[TRIP] write-behind failed kind={} size={}: {}", kind, size, e.toString());
+            onFailure.run();
+        }
+    }
+
+    /** 대기열에서 batchSize 개를 꺼냄(꺼내는 동안 새로 들어온 같은 키는 다음 묶음으로) */
+    private <K, V> Map<K, V> drain(ConcurrentMap<K, V> pending) {
+        Map<K, V> batch = new HashMap<>();
+        for (K key : pending.keySet()) {
+            V value = pending.remove(key);
+            if (value != null) batch.put(key, value);
+            if (batch.size() >= batchSize) break;
+        }
+        return batch;
+    }
+
+    /** (출발, 날짜, 인원) 단위로 기존 행을 한 번에 읽어서 갱신, 없으면 추가. 기존 행이 더 최근 값이면 그대로 */
+    private void upsertFares(Map<FareId, PendingFare> batch) {
+        Map<FareGroup, List<FareId>> groups = batch.keySet().stream()
+                .collect(Collectors.groupingBy(FareId::group));
+
+        List<FlightFare> toSave = new ArrayList<>(batch.size());
+        groups.forEach((group, ids) -> {
+            Map<String, FlightFare> existing = flightFareRepository
+                    .findByOriginIataAndDepartureDateAndAdults(group.from(), group.date(), group.adults())
+                    .stream()
+                    .collect(Collectors.toMap(FlightFare::getDestinationIata, Function.identity(), (a, b) -> a));
+
+            for (FareId id : ids) {
+                PendingFare pending = batch.get(id);
+                FlightFare fare = existing.get(id.to());
+                if (fare == null) {
+                    fare = new FlightFare(id.from(), id.to(), id.date(), id.adults(),
+                            pending.offer(), FlightFare.Source.LIVE, pending.fetchedAt());
+                } else if (fare.isNewerThan(pending.fetchedAt())) {
+                    continue;
+                } else {
+                    fare.update(pending.offer(), FlightFare.Source.LIVE, pending.fetchedAt());
+                }
+                toSave.add(fare);
+            }
+        });
+        flightFareRepository.saveAll(toSave);
+    }
+
+    private void upsertResults(Map<String, TripSearchResponse> batch) {
+        Map<String, TripSearchResult> existing = tripSearchResultRepository.findBySearchKeyIn(batch.keySet()).stream()
+                .collect(Collectors.toMap(TripSearchResult::getSearchKey, Function.identity()));
+
+        List<TripSearchResult> toSave = new ArrayList<>(batch.size());
+        batch.forEach((key, response) -> {
+            String json;
+            try {
+                json = MAPPER.writeValueAsString(response);
+            } catch (JsonProcessingException e) {
+                log.warn("[TRIP] result serialize failed key={}", key, e);
+                return;
+            }
+            LocalDateTime searchedAt = searchedAtOf(response);
+            TripSearchResult result = existing.get(key);
+            if (result == null) {
+                result = new TripSearchResult(key, json, searchedAt);
+            } else {
+                result.update(json, searchedAt);
+            }
+            toSave.add(result);
+        });
+        tripSearchResultRepository.saveAll(toSave);
+    }
+
+    private void purgeExpiredResults() {
+        try {
+            LocalDateTime before = LocalDateTime.now().minus(resultMaxAge);
+            Integer deleted = transactionTemplate.execute(status -> tripSearchResultRepository.deleteBySearchedAtBefore(before));
+            log.info("[TRIP] purged {} expired stored results", deleted);
+        } catch (Exception e) {
+            log.warn("[TRIP] stored result purge failed", e);
+        }
+    }
+
+    private static TripSearchResponse readResponse(String json) {
+        try {
+            return MAPPER.readValue(json, TripSearchResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("TripSearchResponse 역직렬화 실패", e);
+        }
+    }
+
+    /** 응답의 searchedAt(검색 시각) 기준으로 신선도를 판단. 없으면 지금 */
+    private static LocalDateTime searchedAtOf(TripSearchResponse response) {
+        try {
+            if (response.getSearchedAt() != null) {
+                return LocalDateTime.ofInstant(Instant.parse(response.getSearchedAt()), ZoneId.systemDefault());
+            }
+        } catch (DateTimeParseException ignored) {
+            // 아래 now()
+        }
+        return LocalDateTime.now();
+    }
+
+    private record FareId(String from, String to, LocalDate date, int adults) {
+        FareGroup group() {
+            return new FareGroup(from, date, adults);
+        }
+    }
+
+    private record FareGroup(String from, LocalDate date, int adults) {}
+
+    /** offer = null 이면 항공편 없음 */
+    private record PendingFare(FlightOffer offer, LocalDateTime fetchedAt) {}
+}
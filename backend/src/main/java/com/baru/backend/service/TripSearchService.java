@@ -2,237 +2,150 @@ package com.baru.backend.service;
 
 import com.baru.backend.dto.trip.TripSearchRequest;
 import com.baru.backend.dto.trip.TripSearchResponse;
-import com.baru.backend.service.amadeus.AmadeusFlightService;
+import com.baru.backend.service.TripPricing.Candidate;
+import com.baru.backend.service.TripPricing.PreparedSearch;
+import com.baru.backend.service.TripPricing.PricedDestination;
+import com.baru.backend.service.TripPricing.SearchContext;
+import com.baru.backend.service.TripResultCache.SearchKey;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-
-import java.time.Duration;
-import java.time.LocalDateTime;
-import java.util.*;
-import java.util.stream.Collectors;
-
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+
+/**
+ * 검색 1건(전체 결과를 한 번에). 목적지 가격은 TripPricing, 결과 재사용은 TripResultCache.
+ * 스트리밍 / ±N일 / 배치 검색은 각자의 서비스(TripSearchStreamService / FlexibleTripSearchService / BatchTripSearchService).
+ */
 @Service
 @RequiredArgsConstructor
 public class TripSearchService {
 
-    private final AmadeusFlightService amadeusFlightService;
-    private final ExchangeRateService exchangeRateService;
+    private static final ThreadFactory SEARCH_THREADS = Thread.ofVirtual().name("trip-search-", 0).factory();
 
-    @SuppressWarnings("unchecked")
-    public TripSearchResponse search(TripSearchRequest req) {
+    private final TripPricing pricing;
+    private final TripResultCache resultCache;
+    private final Scheduler amadeusScheduler;
+    private final MeterRegistry meterRegistry;
 
-        // 1) 환율 (base=KRW)
-        Map<String, Double> ratesMap = exchangeRateService.latestRates("KRW");
-        Double jpy = ratesMap.get("JPY");
-        Double usd = ratesMap.get("USD");
-
-        // 2) 입력값 정리(프론트가 안 보내면 기본값)
-        String departDate = req.getDepartDate();
-        String returnDate = req.getReturnDate();
-        int adults = Math.max(1, req.getPeople());
-
-        String origin = (req.getOriginLocationCode() == null || req.getOriginLocationCode().isBlank())
-                ? "ICN"
-                : req.getOriginLocationCode().trim().toUpperCase();
-
-        // 귀국공항(요구사항: 출발과 다를 수 있음)
-        String homeReturn = (req.getDestinationLocationCode() == null || req.getDestinationLocationCode().isBlank())
-                ? origin
-                : req.getDestinationLocationCode().trim().toUpperCase();
-
-        boolean isDomestic = Boolean.TRUE.equals(req.getDomestic()); // null이면 false(국외)로 처리
-
-        // 3) 목적지 후보 뽑기 (Airport Routes API)
-        Map<String, Object> routesRoot = amadeusFlightService.directDestinations(origin, 80);
-        List<Map<String, Object>> routeData =
-                (List<Map<String, Object>>) routesRoot.getOrDefault("data", List.of());
-
-        // 후보 iataCode + countryCode 추출
-        List<Dest> candidates = new ArrayList<>();
-        for (Map<String, Object> item : routeData) {
-            Object iataObj = item.get("iataCode");
-            if (iataObj == null) continue;
-            String destIata = iataObj.toString().toUpperCase();
-
-            String countryCode = null;
-            Object addrObj = item.get("address");
-            if (addrObj instanceof Map<?, ?> addrMap) {
-                Object cc = ((Map<String, Object>) addrMap).get("countryCode");
-                if (cc != null) countryCode = cc.toString().toUpperCase();
-            }
+    // 진행 중인 동일 검색 합치기(하위 호출 합치기는 TripPricing)
+    private final SingleFlight<SearchKey, TripSearchResponse> searchFlight = new SingleFlight<>();
 
-            // 국내/국외 필터
-            if (isDomestic) {
-                if (!"KR".equals(countryCode)) continue;
-            } else {
-                if ("KR".equals(countryCode)) continue;
-            }
-
-            // 출발공항과 동일한 목적지는 제외
-            if (origin.equals(destIata)) continue;
+    @Value("${trip.search.max-concurrency:20}")
+    private int maxConcurrency;      // 동시에 조회하는 목적지 수
 
-            candidates.add(new Dest(destIata, countryCode));
-        }
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;  // true 면 목적지 fan-out 을 검색별 가상 스레드 scope 로
 
-        // 너무 많으면 호출량 폭발하니까 상한
-        candidates = candidates.stream().limit(20).collect(Collectors.toList());
-
-        // 4) 각 목적지별로 OUT + IN 최저가 합산해서 FlightCard 생성
-        List<TripSearchResponse.FlightCard> flights = new ArrayList<>();
+    @PostConstruct
+    void init() {
+        TripPricing.registerFlightMetrics(meterRegistry, "search", searchFlight);
+    }
 
-        for (Dest d : candidates) {
-            String destination = d.iata;
+    /**
+     * 같은 조건(날짜, 출발/귀국 공항, 인원, 예산, 국내/국외)의 검색이 동시에 들어오면
+     * 처음 것 하나만 fan-out 하고 나머지는 그 결과를 같이 받는다.
+     */
+    public TripSearchResponse search(TripSearchRequest req) {
+        SearchKey key = SearchKey.of(req);
+        TripSearchResponse shared = searchFlight
+                .execute(key, () -> resultCache.readThrough(key, () -> Mono.fromCallable(() -> doSearch(req))))
+                .block();
 
-            // OUT: origin -> destination
-            Map<String, Object> outRoot = amadeusFlightService.searchOffersOneWay(
-                    origin, destination, departDate, adults, 1, "KRW"
-            );
+        return TripResultCache.echo(shared, req);
+    }
 
-            // IN: destination -> homeReturn
-            Map<String, Object> inRoot = amadeusFlightService.searchOffersOneWay(
-                    destination, homeReturn, returnDate, adults, 1, "KRW"
-            );
+    /**
+     * search 의 논블로킹 버전(같은 single-flight 를 공유). fan-out 과 외부 호출이 전부 이벤트 루프 위에서 돌고,
+     * 스레드를 잡는 건 노선 그래프 miss 등 prepare 단계뿐(amadeusScheduler).
+     * 가상 스레드 모드면 블로킹 search 를 가상 스레드에 올려서 같은 결과를 낸다.
+     */
+    public Mono<TripSearchResponse> searchReactive(TripSearchRequest req) {
+        Supplier<Mono<TripSearchResponse>> work = virtualThreads
+                ? () -> Mono.fromCallable(() -> doSearch(req)).subscribeOn(amadeusScheduler)
+                : () -> doSearchReactive(req);
+
+        SearchKey key = SearchKey.of(req);
+        return searchFlight.execute(key, () -> resultCache.readThrough(key, work))
+                .map(shared -> TripResultCache.echo(shared, req));
+    }
 
-            Map<String, Object> outOffer = firstOffer(outRoot);
-            Map<String, Object> inOffer = firstOffer(inRoot);
-            if (outOffer == null || inOffer == null) continue;
+    private TripSearchResponse doSearch(TripSearchRequest req) {
 
-            int outWon = offerTotalWon(outOffer, ratesMap);
-            int inWon = offerTotalWon(inOffer, ratesMap);
-            int totalWon = outWon + inWon;
+        // 1) ~ 3) 환율 / 입력값 / 목적지 후보
+        PreparedSearch prepared = pricing.prepare(req);
 
-            // 예산 컷(원하면 비율로 조정 가능)
-            if (req.getBudgetWon() > 0 && totalWon > req.getBudgetWon()) {
-                continue;
+        // 4) 각 목적지별로 OUT + IN 최저가 합산해서 FlightCard 생성 + 같은 목적지 호텔 최저가를 동시에 조회
+        //    목적지 단위로 maxConcurrency 개씩 동시에 조회, 가장 싼 10개(top-K)만 남김
+        TopK<PricedDestination> top = prepared.ctx().top();
+        pricing.stageTimer("pricing").record(() -> {
+            if (virtualThreads) {
+                priceInScope(prepared);
+                return;
             }
-
-            // 화면 표시용: OUT 편도 기준 정보(시간/구간)
-            ItinInfo outItin = parseItinerary0(outOffer);
-
-            flights.add(TripSearchResponse.FlightCard.builder()
-                    .airline(outItin.airline)
-                    .priceWon(totalWon) // ✅ 왕복 총액
-                    .departureAirport(outItin.depAirport)
-                    .departureTime(outItin.depTime)
-                    .arrivalAirport(outItin.arrAirport)  // ✅ 추천 목적지
-                    .arrivalTime(outItin.arrTime)
-                    .durationMinutes(outItin.durationMinutes)
-                    .stops(outItin.stops)
-                    .segments(outItin.segments)
-                    .build());
-
-            if (flights.size() >= 10) break; // 상위 10개만
-        }
-
-        // 가격 낮은 순 정렬
-        flights.sort(Comparator.comparingInt(TripSearchResponse.FlightCard::getPriceWon));
-
-        // 5) 예산 계산(최저 항공권 기준)
-        int minFlightWon = flights.stream()
-                .mapToInt(TripSearchResponse.FlightCard::getPriceWon)
-                .min()
-                .orElse(0);
-
-        int remainingWon = req.getBudgetWon() - minFlightWon;
-
-        // 6) 응답
-        return TripSearchResponse.builder()
-                .requested(req)
-                .exchange(TripSearchResponse.Exchange.builder()
-                        .base("KRW")
-                        .rates(TripSearchResponse.Rates.builder()
-                                .JPY(jpy)
-                                .USD(usd)
-                                .build())
-                        .updatedAt(LocalDateTime.now().toString())
-                        .build())
-                .budget(TripSearchResponse.Budget.builder()
-                        .budgetWon(req.getBudgetWon())
-                        .estimatedTotalWon(minFlightWon)
-                        .remainingWon(remainingWon)
-                        .build())
-                .flights(flights)
-                .hotels(List.of())
-                .build();
+            Flux.fromIterable(prepared.candidates())
+                    .flatMap(c -> pricing.priceOrSkip(c, prepared.ctx()), maxConcurrency)
+                    .doOnNext(top::offer)
+                    .then()
+                    .block();
+        });
+
+        return rank(req, prepared);
     }
 
-    // ===== helpers =====
-
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> firstOffer(Map<String, Object> root) {
-        List<Map<String, Object>> data = (List<Map<String, Object>>) root.getOrDefault("data", List.of());
-        if (data.isEmpty()) return null;
-        return data.get(0);
-    }
-
-    @SuppressWarnings("unchecked")
-    private int offerTotalWon(Map<String, Object> offer, Map<String, Double> ratesMap) {
-        Map<String, Object> price = (Map<String, Object>) offer.get("price");
-        if (price == null) return 0;
-
-        String currency = price.getOrDefault("currency", "KRW").toString();
-        double total = Double.parseDouble(price.get("total").toString());
-        return toKrw(currency, total, ratesMap);
+    private Mono<TripSearchResponse> doSearchReactive(TripSearchRequest req) {
+        return Mono.fromCallable(() -> pricing.prepare(req))
+                .subscribeOn(amadeusScheduler) // 노선 그래프 miss 면 외부 호출이 있을 수 있음
+                .flatMap(prepared -> pricing.timedStage("pricing", Flux.fromIterable(prepared.candidates())
+                                .flatMap(c -> pricing.priceOrSkip(c, prepared.ctx()), maxConcurrency)
+                                .doOnNext(prepared.ctx().top()::offer))
+                        .then(Mono.fromSupplier(() -> rank(req, prepared))));
     }
 
-    @SuppressWarnings("unchecked")
-    private ItinInfo parseItinerary0(Map<String, Object> offer) {
-        List<Map<String, Object>> itineraries = (List<Map<String, Object>>) offer.get("itineraries");
-        Map<String, Object> itin0 = itineraries.get(0);
-
-        List<Map<String, Object>> segments = (List<Map<String, Object>>) itin0.get("segments");
-        Map<String, Object> first = segments.get(0);
-        Map<String, Object> last = segments.get(segments.size() - 1);
-
-        Map<String, Object> dep = (Map<String, Object>) first.get("departure");
-        Map<String, Object> arr = (Map<String, Object>) last.get("arrival");
-
-        String depAirport = dep.get("iataCode").toString();
-        String depTime = dep.get("at").toString();
-        String arrAirport = arr.get("iataCode").toString();
-        String arrTime = arr.get("at").toString();
-
-        int stops = Math.max(0, segments.size() - 1);
-        int durationMinutes = (int) Duration.parse(itin0.get("duration").toString()).toMinutes();
-
-        String airline = first.get("carrierCode").toString();
-
-        List<TripSearchResponse.Segment> segDtos = new ArrayList<>();
-        for (Map<String, Object> s : segments) {
-            String flightNo = s.get("carrierCode").toString() + s.get("number").toString();
-            Map<String, Object> sDep = (Map<String, Object>) s.get("departure");
-            Map<String, Object> sArr = (Map<String, Object>) s.get("arrival");
-
-            segDtos.add(TripSearchResponse.Segment.builder()
-                    .flightNo(flightNo)
-                    .from(sDep.get("iataCode").toString())
-                    .to(sArr.get("iataCode").toString())
-                    .depTime(sDep.get("at").toString())
-                    .arrTime(sArr.get("at").toString())
-                    .build());
-        }
-
-        return new ItinInfo(airline, depAirport, depTime, arrAirport, arrTime, durationMinutes, stops, segDtos);
+    private TripSearchResponse rank(TripSearchRequest req, PreparedSearch prepared) {
+        // 가격 낮은 순 정렬
+        return pricing.stageTimer("ranking").record(() ->
+                pricing.toResponse(req, prepared.rateSnapshot(), prepared.ctx().top().sorted()));
     }
 
-    private int toKrw(String currency, double amount, Map<String, Double> ratesMap) {
-        if ("KRW".equalsIgnoreCase(currency)) return (int) Math.round(amount);
-
-        Double rate = ratesMap.get(currency.toUpperCase());
-        if (rate == null || rate == 0) {
-            throw new IllegalStateException("환율 없음: " + currency);
+    /**
+     * 가상 스레드 모드의 fan-out: 목적지 1개 = 자식 가상 스레드 1개, 검색 1건 = scope 1개.
+     * scope 를 닫을 때 모든 자식을 기다리고, 요청 스레드가 인터럽트되면 남은 자식도 전부 인터럽트(shutdownNow)된다.
+     * 자식은 편도/호텔 조회를 기다리는 동안 park 될 뿐이라 검색 수천 건이 동시에 있어도 플랫폼 스레드를 잡지 않는다.
+     * 편도/호텔 호출 자체는 다른 검색과 합류(single-flight)할 수 있어서 검색 scope 가 아닌 amadeusScheduler 에서 돈다.
+     * 동시에 도는 자식은 reactor 경로와 같이 maxConcurrency 개까지(자리가 날 때까지 요청 스레드가 대기).
+     * 자식이 실패하면 그 목적지만 빠지고 trip.search.errors{call=destination} 로 남긴다(reactor 경로도 같음).
+     */
+    private void priceInScope(PreparedSearch prepared) {
+        SearchContext ctx = prepared.ctx();
+        Semaphore permits = new Semaphore(maxConcurrency);
+        try (ExecutorService scope = Executors.newThreadPerTaskExecutor(SEARCH_THREADS)) {
+            for (Candidate c : prepared.candidates()) {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt(); // close() 가 남은 자식을 인터럽트
+                    break;
+                }
+                scope.submit(() -> {
+                    try {
+                        pricing.priceDestination(c, ctx).blockOptional().ifPresent(ctx.top()::offer);
+                    } catch (RuntimeException e) {
+                        pricing.skipDestination(c, e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
         }
-        // (너희 ExchangeRateService가 KRW base일 때) amount / rate 로 KRW 환산하던 기존 로직 유지 :contentReference[oaicite:6]{index=6}
-        return (int) Math.round(amount / rate);
     }
-
-    private record Dest(String iata, String countryCode) {}
-    private record ItinInfo(
-            String airline,
-            String depAirport, String depTime,
-            String arrAirport, String arrTime,
-            int durationMinutes,
-            int stops,
-            List<TripSearchResponse.Segment> segments
-    ) {}
 }
@@ -0,0 +1,119 @@
+package com.baru.backend.service;
+
+import com.baru.backend.dto.trip.TripSearchEvent;
+import com.baru.backend.dto.trip.TripSearchRequest;
+import com.baru.backend.dto.trip.TripSearchResponse;
+import com.baru.backend.service.TripPricing.Candidate;
+import com.baru.backend.service.TripPricing.PricedDestination;
+import com.baru.backend.service.TripPricing.SearchContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/** 검색 1건을 목적지별 이벤트로 흘려보내는 스트리밍 검색(SSE / NDJSON). 가격 조회는 TripPricing */
+@Service
+@RequiredArgsConstructor
+public class TripSearchStreamService {
+
+    private final TripPricing pricing;
+    private final Scheduler amadeusScheduler;
+
+    @Value("${trip.search.max-concurrency:20}")
+    private int maxConcurrency;      // 동시에 조회하는 목적지 수
+
+    /**
+     * search 의 스트리밍 버전: 목적지 하나의 항공권 카드(OUT+IN)가 나오면 호텔을 기다리지 않고 바로 flight 이벤트,
+     * 그 목적지의 호텔이 나오면 같은 destination 으로 hotel 이벤트를 뒤따라 보냄.
+     * 먼저 나간 카드가 나중에 더 싼 카드에 밀리거나(top-K) 호텔까지 더해 예산을 넘을 수 있으므로,
+     * 마지막 summary 이벤트에 예산/환율과 최종 top-K(가격 낮은 순) + 빠진 destination 목록을 담는다.
+     */
+    public Flux<TripSearchEvent> searchStream(TripSearchRequest req) {
+        return Mono.fromCallable(() -> pricing.prepare(req))
+                .subscribeOn(amadeusScheduler) // 노선 그래프 miss 면 외부 호출이 있을 수 있음
+                .flatMapMany(prepared -> {
+                    SearchContext ctx = prepared.ctx();
+                    Set<String> sent = ConcurrentHashMap.newKeySet();
+                    Map<String, TripSearchResponse.HotelCard> hotels = new ConcurrentHashMap<>();
+
+                    // 끝나는 순서대로, 나온 시점에 top-K 에 들어간 카드만 내보냄
+                    Flux<TripSearchEvent> events = Flux.fromIterable(prepared.candidates())
+                            .flatMap(c -> streamDestination(c, ctx, sent, hotels)
+                                    .onErrorResume(e -> pricing.skipDestination(c, e)), maxConcurrency);
+
+                    Mono<TripSearchEvent> summary = Mono.fromSupplier(() -> pricing.stageTimer("ranking").record(() -> {
+                        // top-K 는 항공권만으로 줄 세운 것 → 호텔을 붙이고 합계로 예산을 다시 자름
+                        List<PricedDestination> priced = ctx.top().sorted().stream()
+                                .map(p -> new PricedDestination(p.flight(), hotels.get(p.flight().getArrivalAirport())))
+                                .filter(p -> p.withinBudget(ctx.budgetWon()))
+                                .toList();
+                        Set<String> kept = priced.stream()
+                                .map(p -> p.flight().getArrivalAirport())
+                                .collect(Collectors.toSet());
+                        List<String> evicted = sent.stream()
+                                .filter(destination -> !kept.contains(destination))
+                                .sorted()
+                                .toList();
+
+                        return TripSearchEvent.builder()
+                                .type(TripSearchEvent.SUMMARY)
+                                .exchange(pricing.exchangeOf(prepared.rateSnapshot()))
+                                .budget(pricing.budgetOf(req.getBudgetWon(), priced))
+                                .flights(TripPricing.flightsOf(priced))
+                                .hotels(TripPricing.hotelsOf(priced))
+                                .evicted(evicted)
+                                .build();
+                    }));
+
+                    return pricing.timedStage("pricing", events).concatWith(summary);
+                });
+    }
+
+    /**
+     * searchStream 용 priceDestination(TripPricing): 호텔은 항공권과 동시에 시작하지만 기다리지 않는다.
+     * 항공권 카드가 top-K 에 들어가면 flight 이벤트를 바로 내고(sent 에 기록), 호텔이 나오면 hotel 이벤트(hotels 에도 기록).
+     * 항공권이 empty 이거나 구독이 취소되면 호텔 조회도 취소.
+     */
+    private Flux<TripSearchEvent> streamDestination(
+            Candidate c,
+            SearchContext ctx,
+            Set<String> sent,
+            Map<String, TripSearchResponse.HotelCard> hotels
+    ) {
+        Mono<Optional<TripSearchResponse.HotelCard>> hotel = pricing.cheapestHotel(c.dest(), ctx).share();
+        return Flux.defer(() -> {
+            Disposable started = hotel.subscribe(); // 항공권과 병렬로 시작
+            return pricing.flightOf(c, ctx)
+                    .filter(card -> ctx.top().offer(new PricedDestination(card, null)))
+                    .flatMapMany(card -> {
+                        String destination = card.getArrivalAirport();
+                        sent.add(destination);
+                        TripSearchEvent flightEvent = TripSearchEvent.builder()
+                                .type(TripSearchEvent.FLIGHT)
+                                .destination(destination)
+                                .flight(card)
+                                .build();
+                        Mono<TripSearchEvent> hotelEvent = hotel
+                                .flatMap(Mono::justOrEmpty)
+                                .doOnNext(h -> hotels.put(destination, h))
+                                .map(h -> TripSearchEvent.builder()
+                                        .type(TripSearchEvent.HOTEL)
+                                        .destination(destination)
+                                        .hotel(h)
+                                        .build());
+                        return Mono.just(flightEvent).concatWith(hotelEvent);
+                    })
+                    .doFinally(signal -> started.dispose()); // 남은 구독자가 없으면 share 가 호텔 조회를 취소
+        });
+    }
+}
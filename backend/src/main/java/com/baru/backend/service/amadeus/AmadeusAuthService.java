@@ -1,19 +1,31 @@
 package com.baru.backend.service.amadeus;
 
+import com.baru.backend.config.OutboundMetricsFilter;
+import com.baru.backend.config.OutboundTimeouts;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
-import org.springframework.web.reactive.function.client.ExchangeStrategies;
-import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
+@Slf4j
 @Service
 public class AmadeusAuthService {
 
     private final WebClient webClient;
+    private final Duration refreshSkew;
+    private final OutboundTimeouts timeouts;
+    private final AmadeusRateLimiter rateLimiter;
 
     @Value("${amadeus.client-id}")
     private String clientId;
@@ -21,38 +33,167 @@ public class AmadeusAuthService {
     @Value("${amadeus.client-secret}")
     private String clientSecret;
 
-    public AmadeusAuthService(@Value("${amadeus.base-url}") String baseUrl) {
-        this.webClient = WebClient.builder()
+    private final Object lock = new Object();
+    private volatile CachedToken current;
+    private CompletableFuture<CachedToken> inFlight; // lock 으로 보호
+
+    public AmadeusAuthService(
+            WebClient.Builder builder,
+            @Value("${amadeus.base-url}") String baseUrl,
+            @Value("${amadeus.token.refresh-skew:60s}") Duration refreshSkew,
+            OutboundTimeouts timeouts,
+            AmadeusRateLimiter rateLimiter
+    ) {
+        this.webClient = builder
                 .baseUrl(baseUrl)
                 .build();
+        this.refreshSkew = refreshSkew;
+        this.timeouts = timeouts;
+        this.rateLimiter = rateLimiter;
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * 메모리에 들고 있는 토큰을 반환.
+     * 만료 refresh-skew 전부터는 백그라운드로 미리 갱신하고(기존 토큰은 계속 사용),
+     * 토큰이 없거나 이미 만료됐으면 진행 중인 갱신 하나를 모든 호출자가 같이 기다린다.
+     */
     public String getAccessToken() {
+        CachedToken token = current;
+        Instant now = Instant.now();
+
+        if (token != null && now.isBefore(token.refreshAt())) {
+            return token.value();
+        }
+        if (token != null && now.isBefore(token.expiresAt())) {
+            refresh(); // 선제 갱신 — 결과는 기다리지 않음
+            return token.value();
+        }
+        return await(refresh()).value();
+    }
+
+    /** 401 을 받은 토큰을 버린다. 그 사이 이미 새 토큰으로 바뀌었으면 건드리지 않음 */
+    public void invalidate(String token) {
+        synchronized (lock) {
+            if (current != null && current.value().equals(token)) {
+                current = null;
+            }
+        }
+    }
+
+    /**
+     * 토큰을 붙여 호출하고, 401 이면 토큰을 무효화한 뒤 딱 한 번 재시도.
+     * (Amadeus 쪽에서 토큰을 먼저 폐기하는 경우 대비)
+     */
+    public <T> T withToken(Function<String, T> call) {
+        String token = getAccessToken();
         try {
-            Map<String, Object> response = webClient.post()
-                    .uri("/v1/security/oauth2/token")
-                    .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                    .bodyValue(
-                            "grant_type=client_credentials" +
-                                    "&client_id=" + clientId +
-                                    "&client_secret=" + clientSecret
-                    )
-                    .retrieve()
-                    .bodyToMono(Map.class)   // ✅ Map으로 받기
-                    .block();
-
-            if (response == null || !response.containsKey("access_token")) {
-                throw new IllegalStateException("Amadeus token response invalid");
+            return call.apply(token);
+        } catch (WebClientResponseException.Unauthorized e) {
+            log.warn("[AMADEUS] 401 received, refreshing token and retrying once");
+            invalidate(token);
+            return call.apply(getAccessToken());
+        }
+    }
+
+    /** getAccessToken 의 논블로킹 버전: 유효한 토큰이 있으면 바로, 없으면 진행 중인 갱신을 기다린다 */
+    public Mono<String> accessToken() {
+        return Mono.defer(() -> {
+            CachedToken token = current;
+            Instant now = Instant.now();
+
+            if (token != null && now.isBefore(token.expiresAt())) {
+                if (!now.isBefore(token.refreshAt())) refresh(); // 선제 갱신
+                return Mono.just(token.value());
             }
+            // 갱신 future 는 다른 호출자와 공유하므로 구독을 취소해도 취소하지 않음
+            return Mono.fromFuture(refresh(), true).map(CachedToken::value);
+        });
+    }
+
+    /** withToken 의 논블로킹 버전(401 이면 토큰 무효화 후 1회 재시도) */
+    public <T> Mono<T> withTokenReactive(Function<String, Mono<T>> call) {
+        return accessToken().flatMap(token -> call.apply(token)
+                .onErrorResume(WebClientResponseException.Unauthorized.class, e -> {
+                    log.warn("[AMADEUS] 401 received, refreshing token and retrying once");
+                    invalidate(token);
+                    return accessToken().flatMap(call);
+                }));
+    }
 
-            return response.get("access_token").toString();
+    // ===== helpers =====
 
-        } catch (WebClientResponseException e) {
-            throw new IllegalStateException(
-                    "Amadeus Auth failed: " + e.getStatusCode() + " " + e.getResponseBodyAsString(),
-                    e
-            );
+    /** single-flight: 이미 갱신 중이면 그 future 를 같이 쓴다 */
+    private CompletableFuture<CachedToken> refresh() {
+        synchronized (lock) {
+            if (inFlight != null) return inFlight;
+
+            CompletableFuture<CachedToken> future = requestToken().toFuture();
+            inFlight = future;
+            future.whenComplete((token, error) -> {
+                synchronized (lock) {
+                    if (token != null) current = token;
+                    inFlight = null;
+                }
+                if (error != null) {
+                    log.error("[AMADEUS] token refresh failed", error);
+                }
+            });
+            return future;
+        }
+    }
+
+    /** 토큰 발급도 Amadeus 호출이라 rate limit(token + 계정 bucket)을 거침. 모든 호출이 기다리므로 INTERACTIVE */
+    private Mono<CachedToken> requestToken() {
+        return Mono.fromFuture(() -> rateLimiter.acquireAsync(AmadeusEndpoint.TOKEN, CallPriority.INTERACTIVE))
+                .then(requestTokenNow());
+    }
+
+    private Mono<CachedToken> requestTokenNow() {
+        return webClient.post()
+                .uri("/v1/security/oauth2/token")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .httpRequest(timeouts.responseTimeout(AmadeusEndpoint.TOKEN.key()))
+                .attribute(OutboundMetricsFilter.ENDPOINT, AmadeusEndpoint.TOKEN.key())
+                .bodyValue(
+                        "grant_type=client_credentials" +
+                                "&client_id=" + clientId +
+                                "&client_secret=" + clientSecret
+                )
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
+                .map(this::toCachedToken)
+                .onErrorMap(WebClientResponseException.class, e -> new IllegalStateException(
+                        "Amadeus Auth failed: " + e.getStatusCode() + " " + e.getResponseBodyAsString(),
+                        e
+                ));
+    }
+
+    private CachedToken toCachedToken(Map<String, Object> response) {
+        if (response == null || !response.containsKey("access_token")) {
+            throw new IllegalStateException("Amadeus token response invalid");
+        }
+
+        String value = response.get("access_token").toString();
+        long expiresIn = Long.parseLong(response.getOrDefault("expires_in", "1799").toString());
+
+        Instant now = Instant.now();
+        Duration lifetime = Duration.ofSeconds(expiresIn);
+        // 수명이 skew 보다 짧으면 절반 지점에서 갱신
+        Duration refreshAfter = lifetime.compareTo(refreshSkew.multipliedBy(2)) > 0
+                ? lifetime.minus(refreshSkew)
+                : lifetime.dividedBy(2);
+
+        return new CachedToken(value, now.plus(refreshAfter), now.plus(lifetime));
+    }
+
+    private CachedToken await(CompletableFuture<CachedToken> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("Amadeus Auth failed", e.getCause());
         }
     }
+
+    private record CachedToken(String value, Instant refreshAt, Instant expiresAt) {}
 }
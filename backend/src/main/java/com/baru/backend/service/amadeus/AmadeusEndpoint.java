@@ -0,0 +1,23 @@
+package com.baru.backend.service.amadeus;
+
+/** 외부 호출 단위(rate limit / 설정 키 기준) */
+public enum AmadeusEndpoint {
+
+    TOKEN("token"),
+    DIRECT_DESTINATIONS("direct-destinations"),
+    FLIGHT_OFFERS("flight-offers"),
+    HOTELS_BY_CITY("hotels-by-city"),
+    HOTEL_OFFERS("hotel-offers"),
+    LOCATIONS("locations");
+
+    private final String key;
+
+    AmadeusEndpoint(String key) {
+        this.key = key;
+    }
+
+    /** 설정 키에 쓰는 이름. 예) amadeus.rate-limit.flight-offers.per-second */
+    public String key() {
+        return key;
+    }
+}
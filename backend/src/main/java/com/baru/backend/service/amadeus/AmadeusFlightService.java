@@ -1,52 +1,120 @@
 package com.baru.backend.service.amadeus;
 
+import com.baru.backend.config.OutboundMetricsFilter;
+import com.baru.backend.dto.flight.FlightOffer;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
+@Slf4j
 @Service
 public class AmadeusFlightService {
 
     private final WebClient webClient;
-    private final AmadeusAuthService auth;
+    private final AmadeusGateway gateway;
+
+    /**
+     * 같은 (출발, 도착, 날짜, 인원, 통화) 조회는 TTL 동안 메모리에서 응답.
+     * 값이 future 라서 동시에 들어온 같은 키 조회는 한 번만 나가고, 실패한 future 는 자동으로 빠진다.
+     * 장애 때 staleOffers 에서 대신 내준 값도 캐시에 남기지 않는다(복구된 뒤 TTL 동안 지난 가격이 새 값처럼 나가지 않도록).
+     * offerCache: 검색용 typed 결과 / rawOfferCache: /api/flights/offers 원본 응답
+     */
+    private final AsyncCache<OfferKey, FetchedOffers> offerCache;
+    private final AsyncCache<OfferKey, Map<String, Object>> rawOfferCache;
+
+    /**
+     * 마지막으로 성공한 응답을 TTL 보다 오래 들고 있다가, Amadeus 장애(circuit open / 5xx / timeout) 때만 대신 내려줌.
+     * 원본 응답(/api/flights/offers)은 최상위에 "stale": true 를 붙여서 내려줌.
+     */
+    private final Cache<OfferKey, FetchedOffers> staleOffers;
+    private final Cache<OfferKey, Map<String, Object>> staleRawOffers;
+    private final Counter staleServed;
+
+    private static final String STALE_FIELD = "stale";
 
     public AmadeusFlightService(
             WebClient.Builder builder,
             @Value("${amadeus.base-url}") String baseUrl,
-            AmadeusAuthService auth
+            AmadeusGateway gateway,
+            @Value("${amadeus.cache.flight-offers.ttl:10m}") Duration offerTtl,
+            @Value("${amadeus.cache.flight-offers.max-size:10000}") long offerMaxSize,
+            @Value("${amadeus.cache.flight-offers.stale-ttl:6h}") Duration staleTtl,
+            MeterRegistry registry
     ) {
         this.webClient = builder.baseUrl(baseUrl).build();
-        this.auth = auth;
+        this.gateway = gateway;
+        this.staleOffers = Caffeine.newBuilder()
+                .maximumSize(offerMaxSize)
+                .expireAfterWrite(staleTtl)
+                .build();
+        this.staleRawOffers = Caffeine.newBuilder()
+                .maximumSize(offerMaxSize)
+                .expireAfterWrite(staleTtl)
+                .build();
+        this.staleServed = Counter.builder("amadeus.stale.served")
+                .tag("endpoint", AmadeusEndpoint.FLIGHT_OFFERS.key())
+                .register(registry);
+        this.offerCache = Caffeine.newBuilder()
+                .maximumSize(offerMaxSize)
+                .expireAfterWrite(offerTtl)
+                .recordStats()
+                .buildAsync();
+        this.rawOfferCache = Caffeine.newBuilder()
+                .maximumSize(offerMaxSize)
+                .expireAfterWrite(offerTtl)
+                .recordStats()
+                .buildAsync();
+
+        // cache.gets{result=hit|miss}, cache.evictions ... (cache=flight-offers / flight-offers-raw)
+        CaffeineCacheMetrics.monitor(registry, offerCache.synchronous(), "flight-offers");
+        CaffeineCacheMetrics.monitor(registry, rawOfferCache.synchronous(), "flight-offers-raw");
     }
 
     /** Airport Routes API: 출발 공항 기준 직항 목적지 목록 */
     public Map<String, Object> directDestinations(String departureAirportCode, Integer max) {
-        String token = auth.getAccessToken();
-
         try {
-            return webClient.get()
-                    .uri(uriBuilder -> {
-                        var b = uriBuilder
-                                .path("/v1/airport/direct-destinations")
-                                .queryParam("departureAirportCode", departureAirportCode);
-                        if (max != null && max > 0) b = b.queryParam("max", max);
-                        return b.build();
-                    })
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-                    .block();
+            return gateway.call(AmadeusEndpoint.DIRECT_DESTINATIONS,
+                    token -> requestDirectDestinations(token, departureAirportCode, max).block());
         } catch (WebClientResponseException e) {
-            throw new IllegalStateException("Amadeus direct-destinations 실패: "
-                    + e.getStatusCode() + " / " + e.getResponseBodyAsString(), e);
+            throw directDestinationsFailed(e);
         }
     }
 
+    /** directDestinations 의 논블로킹 버전 */
+    public Mono<Map<String, Object>> directDestinationsReactive(String departureAirportCode, Integer max) {
+        return gateway.callReactive(AmadeusEndpoint.DIRECT_DESTINATIONS,
+                        token -> requestDirectDestinations(token, departureAirportCode, max))
+                .onErrorMap(WebClientResponseException.class, this::directDestinationsFailed);
+    }
+
     /** 편도 항공권 조회 (returnDate 없이 호출) */
     public Map<String, Object> searchOffersOneWay(
             String origin,
@@ -56,27 +124,90 @@ public class AmadeusFlightService {
             int max,
             String currencyCode
     ) {
-        String token = auth.getAccessToken();
+        OfferKey key = new OfferKey(origin, destination, departureDate, null, adults, max, currencyCode);
+        return cached(rawOfferCache, key, AmadeusFlightService::isStaleRaw, () -> fetchRawOffers(key, "ONEWAY"));
+    }
 
-        try {
-            return webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/v2/shopping/flight-offers")
-                            .queryParam("originLocationCode", origin)
-                            .queryParam("destinationLocationCode", destination)
-                            .queryParam("departureDate", departureDate)
-                            .queryParam("adults", adults)
-                            .queryParam("max", max)
-                            .queryParam("currencyCode", currencyCode)
-                            .build())
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-                    .block();
-        } catch (WebClientResponseException e) {
-            throw new IllegalStateException("Amadeus flight-offers(ONEWAY) 실패: "
-                    + e.getStatusCode() + " / " + e.getResponseBodyAsString(), e);
-        }
+    /** 편도 항공권 조회 — 필요한 필드만 바로 record 로 디코딩 */
+    public List<FlightOffer> findOffersOneWay(
+            String origin,
+            String destination,
+            String departureDate,
+            int adults,
+            int max,
+            String currencyCode
+    ) {
+        return fetchedOffersOneWay(origin, destination, departureDate, adults, max, currencyCode).offers();
+    }
+
+    /** findOffersOneWay + 실제로 받은 시각 / 장애 때 대신 내준 지난 응답인지(저장할지 판단용) */
+    public FetchedOffers fetchedOffersOneWay(
+            String origin,
+            String destination,
+            String departureDate,
+            int adults,
+            int max,
+            String currencyCode
+    ) {
+        OfferKey key = new OfferKey(origin, destination, departureDate, null, adults, max, currencyCode);
+        return cached(offerCache, key, FetchedOffers::stale, () -> fetchOffers(key, "ONEWAY"));
+    }
+
+    /** searchOffersOneWay 의 논블로킹 버전 */
+    public Mono<Map<String, Object>> searchOffersOneWayReactive(
+            String origin,
+            String destination,
+            String departureDate,
+            int adults,
+            int max,
+            String currencyCode
+    ) {
+        OfferKey key = new OfferKey(origin, destination, departureDate, null, adults, max, currencyCode);
+        return cachedReactive(rawOfferCache, key, AmadeusFlightService::isStaleRaw,
+                () -> fetchRawOffersReactive(key, "ONEWAY"));
+    }
+
+    /** findOffersOneWay 의 논블로킹 버전(캐시 공유) */
+    public Mono<List<FlightOffer>> findOffersOneWayReactive(
+            String origin,
+            String destination,
+            String departureDate,
+            int adults,
+            int max,
+            String currencyCode
+    ) {
+        return fetchedOffersOneWayReactive(origin, destination, departureDate, adults, max, currencyCode)
+                .map(FetchedOffers::offers);
+    }
+
+    /** fetchedOffersOneWay 의 논블로킹 버전(캐시 공유) */
+    public Mono<FetchedOffers> fetchedOffersOneWayReactive(
+            String origin,
+            String destination,
+            String departureDate,
+            int adults,
+            int max,
+            String currencyCode
+    ) {
+        OfferKey key = new OfferKey(origin, destination, departureDate, null, adults, max, currencyCode);
+        return cachedReactive(offerCache, key, FetchedOffers::stale, () -> fetchOffersReactive(key, "ONEWAY"));
+    }
+
+    /**
+     * 캐시를 거치지 않는 편도 조회(가격 캘린더 같은 대량 백그라운드 조회가 검색용 캐시를 밀어내지 않도록).
+     * staleOffers 도 쓰지 않음: 장애 때 지난 응답을 새 값처럼 돌려주지 않고(그대로 실패), 결과를 넣지도 않는다.
+     */
+    public Mono<List<FlightOffer>> fetchOffersOneWayReactive(
+            String origin,
+            String destination,
+            String departureDate,
+            int adults,
+            int max,
+            String currencyCode
+    ) {
+        OfferKey key = new OfferKey(origin, destination, departureDate, null, adults, max, currencyCode);
+        return gateway.callReactive(AmadeusEndpoint.FLIGHT_OFFERS, token -> requestOffers(token, key))
+                .onErrorMap(WebClientResponseException.class, e -> offersFailed("ONEWAY", e));
     }
 
     /** 왕복(같은 공항으로 귀국) — 필요하면 사용 */
@@ -89,27 +220,282 @@ public class AmadeusFlightService {
             int max,
             String currencyCode
     ) {
-        String token = auth.getAccessToken();
+        OfferKey key = new OfferKey(origin, destination, departureDate, returnDate, adults, max, currencyCode);
+        return cached(rawOfferCache, key, AmadeusFlightService::isStaleRaw, () -> fetchRawOffers(key, "ROUNDTRIP"));
+    }
+
+    /** 왕복 항공권 조회 — itineraries = [가는편, 오는편] */
+    public List<FlightOffer> findOffersRoundTrip(
+            String origin,
+            String destination,
+            String departureDate,
+            String returnDate,
+            int adults,
+            int max,
+            String currencyCode
+    ) {
+        OfferKey key = new OfferKey(origin, destination, departureDate, returnDate, adults, max, currencyCode);
+        return cached(offerCache, key, FetchedOffers::stale, () -> fetchOffers(key, "ROUNDTRIP")).offers();
+    }
+
+    /** searchOffersRoundTrip 의 논블로킹 버전 */
+    public Mono<Map<String, Object>> searchOffersRoundTripReactive(
+            String origin,
+            String destination,
+            String departureDate,
+            String returnDate,
+            int adults,
+            int max,
+            String currencyCode
+    ) {
+        OfferKey key = new OfferKey(origin, destination, departureDate, returnDate, adults, max, currencyCode);
+        return cachedReactive(rawOfferCache, key, AmadeusFlightService::isStaleRaw,
+                () -> fetchRawOffersReactive(key, "ROUNDTRIP"));
+    }
+
+    /** findOffersRoundTrip 의 논블로킹 버전(캐시 공유) */
+    public Mono<List<FlightOffer>> findOffersRoundTripReactive(
+            String origin,
+            String destination,
+            String departureDate,
+            String returnDate,
+            int adults,
+            int max,
+            String currencyCode
+    ) {
+        OfferKey key = new OfferKey(origin, destination, departureDate, returnDate, adults, max, currencyCode);
+        return cachedReactive(offerCache, key, FetchedOffers::stale, () -> fetchOffersReactive(key, "ROUNDTRIP"))
+                .map(FetchedOffers::offers);
+    }
+
+    /** flight-offers 캐시 hit/miss/eviction 카운터 (검색용 typed 캐시) */
+    public CacheStats offerCacheStats() {
+        return offerCache.synchronous().stats();
+    }
+
+    /** flight-offers 캐시 hit/miss/eviction 카운터 (/api/flights/offers 원본 캐시) */
+    public CacheStats rawOfferCacheStats() {
+        return rawOfferCache.synchronous().stats();
+    }
+
+    // ===== helpers =====
+
+    /**
+     * miss 면 호출한 스레드에서 직접 조회해서 future 를 채운다(캐시 내부 lock 안에서 블로킹하지 않도록).
+     * isStale 인 값(장애 때 대신 내준 지난 응답)은 기다리던 호출자에게만 주고 캐시에서는 뺀다.
+     */
+    private <T> T cached(AsyncCache<OfferKey, T> cache, OfferKey key, Predicate<T> isStale, Supplier<T> loader) {
+        CompletableFuture<T> mine = new CompletableFuture<>();
+        CompletableFuture<T> future = cache.get(key, (k, executor) -> mine);
+
+        if (future == mine) {
+            try {
+                T value = loader.get();
+                mine.complete(value);
+                if (isStale.test(value)) cache.asMap().remove(key, mine);
+            } catch (Throwable e) {
+                // Error 도 future 를 끝내야 같은 키를 기다리는 호출자가 join() 에서 영원히 멈추지 않음(실패한 future 는 캐시에서 빠짐)
+                mine.completeExceptionally(e);
+            }
+        }
 
         try {
-            return webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/v2/shopping/flight-offers")
-                            .queryParam("originLocationCode", origin)
-                            .queryParam("destinationLocationCode", destination)
-                            .queryParam("departureDate", departureDate)
-                            .queryParam("returnDate", returnDate)
-                            .queryParam("adults", adults)
-                            .queryParam("max", max)
-                            .queryParam("currencyCode", currencyCode)
-                            .build())
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-                    .block();
-        } catch (WebClientResponseException e) {
-            throw new IllegalStateException("Amadeus flight-offers(ROUNDTRIP) 실패: "
-                    + e.getStatusCode() + " / " + e.getResponseBodyAsString(), e);
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
         }
     }
+
+    /**
+     * 리액티브 버전: 같은 키 future 를 공유하므로 구독 하나가 취소해도 조회는 취소하지 않음(끝나면 캐시에 남음).
+     * 조회는 future 로 따로 구독되므로 호출자의 Context(CallPriority)를 넘겨준다.
+     */
+    private <T> Mono<T> cachedReactive(AsyncCache<OfferKey, T> cache, OfferKey key, Predicate<T> isStale,
+                                       Supplier<Mono<T>> loader) {
+        return Mono.deferContextual(ctx -> {
+            CompletableFuture<T> future = cache.get(key, (k, executor) -> loader.get()
+                    .contextWrite(ctx)
+                    .toFuture());
+            future.thenAccept(value -> {
+                if (isStale.test(value)) cache.asMap().remove(key, future);
+            });
+            return Mono.fromFuture(future, true);
+        });
+    }
+
+    private FetchedOffers fetchOffers(OfferKey key, String kind) {
+        try {
+            List<FlightOffer> offers = gateway.call(AmadeusEndpoint.FLIGHT_OFFERS, token -> requestOffers(token, key).block());
+            FetchedOffers fetched = new FetchedOffers(offers, Instant.now(), false);
+            staleOffers.put(key, fetched);
+            return fetched;
+        } catch (RuntimeException e) {
+            FetchedOffers stale = staleOrNull(staleOffers, key, e);
+            if (stale != null) return stale.asStale();
+            if (e instanceof WebClientResponseException we) throw offersFailed(kind, we);
+            throw e;
+        }
+    }
+
+    private Mono<FetchedOffers> fetchOffersReactive(OfferKey key, String kind) {
+        return gateway.callReactive(AmadeusEndpoint.FLIGHT_OFFERS, token -> requestOffers(token, key))
+                .map(offers -> new FetchedOffers(offers, Instant.now(), false))
+                .doOnNext(fetched -> staleOffers.put(key, fetched))
+                .onErrorResume(e -> Mono.justOrEmpty(staleOrNull(staleOffers, key, e))
+                        .map(FetchedOffers::asStale)
+                        .switchIfEmpty(Mono.error(e)))
+                .onErrorMap(WebClientResponseException.class, e -> offersFailed(kind, e));
+    }
+
+    private Map<String, Object> fetchRawOffers(OfferKey key, String kind) {
+        try {
+            Map<String, Object> raw = gateway.call(AmadeusEndpoint.FLIGHT_OFFERS, token -> requestRawOffers(token, key).block());
+            staleRawOffers.put(key, raw);
+            return raw;
+        } catch (RuntimeException e) {
+            Map<String, Object> stale = staleOrNull(staleRawOffers, key, e);
+            if (stale != null) return markStale(stale);
+            if (e instanceof WebClientResponseException we) throw offersFailed(kind, we);
+            throw e;
+        }
+    }
+
+    private Mono<Map<String, Object>> fetchRawOffersReactive(OfferKey key, String kind) {
+        return gateway.callReactive(AmadeusEndpoint.FLIGHT_OFFERS, token -> requestRawOffers(token, key))
+                .doOnNext(raw -> staleRawOffers.put(key, raw))
+                .onErrorResume(e -> Mono.justOrEmpty(staleOrNull(staleRawOffers, key, e))
+                        .map(AmadeusFlightService::markStale)
+                        .switchIfEmpty(Mono.error(e)))
+                .onErrorMap(WebClientResponseException.class, e -> offersFailed(kind, e));
+    }
+
+    /** Amadeus 장애일 때만 지난 응답. 4xx(요청 문제)는 그대로 실패 */
+    private <T> T staleOrNull(Cache<OfferKey, T> stale, OfferKey key, Throwable e) {
+        if (!AmadeusGateway.isOutage(e)) return null;
+        T value = stale.getIfPresent(key);
+        if (value != null) {
+            staleServed.increment();
+            log.warn("[AMADEUS] flight-offers degraded to stale result {}->{} {}: {}",
+                    key.origin(), key.destination(), key.departureDate(), e.toString());
+        }
+        return value;
+    }
+
+    /** 원본 응답 사본에 "stale": true (staleRawOffers 에 든 원본은 그대로) */
+    private static Map<String, Object> markStale(Map<String, Object> raw) {
+        Map<String, Object> marked = new LinkedHashMap<>(raw);
+        marked.put(STALE_FIELD, true);
+        return marked;
+    }
+
+    private static boolean isStaleRaw(Map<String, Object> raw) {
+        return Boolean.TRUE.equals(raw.get(STALE_FIELD));
+    }
+
+    // 요청 자체는 블로킹/논블로킹 버전이 같이 씀
+
+    private Mono<Map<String, Object>> requestDirectDestinations(String token, String departureAirportCode, Integer max) {
+        return webClient.get()
+                .uri(uriBuilder -> {
+                    var b = uriBuilder
+                            .path("/v1/airport/direct-destinations")
+                            .queryParam("departureAirportCode", departureAirportCode);
+                    if (max != null && max > 0) b = b.queryParam("max", max);
+                    return b.build();
+                })
+                .httpRequest(gateway.responseTimeout(AmadeusEndpoint.DIRECT_DESTINATIONS))
+                .attribute(OutboundMetricsFilter.ENDPOINT, AmadeusEndpoint.DIRECT_DESTINATIONS.key())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {});
+    }
+
+    private Mono<List<FlightOffer>> requestOffers(String token, OfferKey key) {
+        return webClient.get()
+                .uri(uriBuilder -> offersUri(uriBuilder, key))
+                .httpRequest(gateway.responseTimeout(AmadeusEndpoint.FLIGHT_OFFERS))
+                .attribute(OutboundMetricsFilter.ENDPOINT, AmadeusEndpoint.FLIGHT_OFFERS.key())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .reduceWith(FlightOfferDecoder.Incremental::new, this::feedOffers)
+                .map(this::finishOffers);
+    }
+
+    private Mono<Map<String, Object>> requestRawOffers(String token, OfferKey key) {
+        return webClient.get()
+                .uri(uriBuilder -> offersUri(uriBuilder, key))
+                .httpRequest(gateway.responseTimeout(AmadeusEndpoint.FLIGHT_OFFERS))
+                .attribute(OutboundMetricsFilter.ENDPOINT, AmadeusEndpoint.FLIGHT_OFFERS.key())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {});
+    }
+
+    private IllegalStateException directDestinationsFailed(WebClientResponseException e) {
+        return new IllegalStateException("Amadeus direct-destinations 실패: "
+                + e.getStatusCode() + " / " + e.getResponseBodyAsString(), e);
+    }
+
+    private IllegalStateException offersFailed(String kind, WebClientResponseException e) {
+        return new IllegalStateException("Amadeus flight-offers(" + kind + ") 실패: "
+                + e.getStatusCode() + " / " + e.getResponseBodyAsString(), e);
+    }
+
+    private URI offersUri(UriBuilder uriBuilder, OfferKey key) {
+        var b = uriBuilder
+                .path("/v2/shopping/flight-offers")
+                .queryParam("originLocationCode", key.origin())
+                .queryParam("destinationLocationCode", key.destination())
+                .queryParam("departureDate", key.departureDate());
+        if (key.returnDate() != null) b = b.queryParam("returnDate", key.returnDate());
+        return b
+                .queryParam("adults", key.adults())
+                .queryParam("max", key.max())
+                .queryParam("currencyCode", key.currencyCode())
+                .build();
+    }
+
+    /** 청크가 오는 대로 파서에 넣고 바로 반환(응답 전체를 한 버퍼로 join 하지 않음) */
+    private FlightOfferDecoder.Incremental feedOffers(FlightOfferDecoder.Incremental decoder, DataBuffer buffer) {
+        try {
+            byte[] chunk = new byte[buffer.readableByteCount()];
+            buffer.read(chunk);
+            return decoder.feed(chunk, 0, chunk.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("flight-offers 응답 파싱 실패", e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private List<FlightOffer> finishOffers(FlightOfferDecoder.Incremental decoder) {
+        try {
+            return decoder.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException("flight-offers 응답 파싱 실패", e);
+        }
+    }
+
+    /**
+     * 검색용 flight-offers 결과. fetchedAt = Amadeus 에서 실제로 받은 시각(캐시 hit 이면 처음 받은 시각),
+     * stale = Amadeus 장애로 staleOffers 의 지난 응답을 대신 내준 것(새 가격으로 저장하면 안 됨).
+     */
+    public record FetchedOffers(List<FlightOffer> offers, Instant fetchedAt, boolean stale) {
+        FetchedOffers asStale() {
+            return stale ? this : new FetchedOffers(offers, fetchedAt, true);
+        }
+    }
+
+    private record OfferKey(
+            String origin,
+            String destination,
+            String departureDate,
+            String returnDate,   // 편도면 null
+            int adults,
+            int max,
+            String currencyCode
+    ) {}
 }
@@ -0,0 +1,241 @@
+package com.baru.backend.service.amadeus;
+
+import com.baru.backend.config.OutboundTimeouts;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Amadeus 외부 호출 공통 진입점: circuit breaker 확인 → rate limit 대기 → 토큰 부착 → 401 이면 토큰 갱신 후 1회 재시도.
+ * hedge 가 켜진 엔드포인트(기본 flight-offers)는 논블로킹 호출에서 tail latency 를 넘기면 같은 요청을 한 번 더 보낸다.
+ */
+@Slf4j
+@Component
+public class AmadeusGateway {
+
+    private final AmadeusAuthService auth;
+    private final AmadeusRateLimiter rateLimiter;
+    private final OutboundTimeouts timeouts;
+    private final MeterRegistry registry;
+
+    private final Map<AmadeusEndpoint, CircuitBreaker> breakers = new EnumMap<>(AmadeusEndpoint.class);
+    private final Map<AmadeusEndpoint, HedgePolicy> hedges = new EnumMap<>(AmadeusEndpoint.class);
+
+    public AmadeusGateway(
+            AmadeusAuthService auth,
+            AmadeusRateLimiter rateLimiter,
+            OutboundTimeouts timeouts,
+            MeterRegistry registry,
+            Environment env,
+            @Value("${amadeus.circuit-breaker.window:50}") int window,
+            @Value("${amadeus.circuit-breaker.min-calls:20}") int minCalls,
+            @Value("${amadeus.circuit-breaker.failure-rate:0.5}") double failureRate,
+            @Value("${amadeus.circuit-breaker.open-duration:30s}") Duration openDuration,
+            @Value("${amadeus.circuit-breaker.half-open-calls:3}") int halfOpenCalls
+    ) {
+        this.auth = auth;
+        this.rateLimiter = rateLimiter;
+        this.timeouts = timeouts;
+        this.registry = registry;
+
+        for (AmadeusEndpoint endpoint : AmadeusEndpoint.values()) {
+            String prefix = "amadeus.circuit-breaker." + endpoint.key();
+            CircuitBreaker breaker = new CircuitBreaker(
+                    env.getProperty(prefix + ".window", Integer.class, window),
+                    env.getProperty(prefix + ".min-calls", Integer.class, minCalls),
+                    env.getProperty(prefix + ".failure-rate", Double.class, failureRate),
+                    env.getProperty(prefix + ".open-duration", Duration.class, openDuration),
+                    env.getProperty(prefix + ".half-open-calls", Integer.class, halfOpenCalls),
+                    System::nanoTime
+            );
+            breakers.put(endpoint, breaker);
+            // 0 = closed, 1 = open, 2 = half-open
+            Gauge.builder("amadeus.circuit.state", breaker, b -> b.state().ordinal())
+                    .tag("endpoint", endpoint.key())
+                    .register(registry);
+
+            String hedgePrefix = "amadeus.hedge." + endpoint.key();
+            if (env.getProperty(hedgePrefix + ".enabled", Boolean.class, false)) {
+                hedges.put(endpoint, new HedgePolicy(
+                        env.getProperty(hedgePrefix + ".percentile", Double.class, 0.95),
+                        env.getProperty(hedgePrefix + ".min-delay", Duration.class, Duration.ofMillis(300)),
+                        env.getProperty(hedgePrefix + ".max-ratio", Double.class, 0.1),
+                        env.getProperty(hedgePrefix + ".window", Integer.class, 512),
+                        env.getProperty(hedgePrefix + ".min-samples", Integer.class, 50)
+                ));
+            }
+        }
+    }
+
+    public <T> T call(AmadeusEndpoint endpoint, Function<String, T> request) {
+        CallPriority priority = CallPriority.current();
+        CircuitBreaker breaker = breakers.get(endpoint);
+        return auth.withToken(token -> {
+            if (!breaker.tryAcquire()) throw new AmadeusUnavailableException(endpoint);
+
+            // 재시도도 토큰 1개를 다시 씀. 대기 시간은 HTTP 지연(outbound.requests)과 따로 기록
+            Timer.Sample wait = Timer.start(registry);
+            try {
+                rateLimiter.acquire(endpoint, priority);
+            } catch (RuntimeException e) {
+                breaker.onIgnored();
+                throw e;
+            } finally {
+                wait.stop(waitTimer(endpoint, priority));
+            }
+
+            long start = System.nanoTime();
+            try {
+                T result = request.apply(token);
+                breaker.onSuccess();
+                recordLatency(endpoint, System.nanoTime() - start);
+                return result;
+            } catch (RuntimeException e) {
+                onError(breaker, e);
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * call 의 논블로킹 버전. rate limit 대기는 future 로(스레드를 잡지 않음), 우선순위는 Reactor Context 에서.
+     * 구독이 취소되면 대기열 자리도 포기한다.
+     */
+    public <T> Mono<T> callReactive(AmadeusEndpoint endpoint, Function<String, Mono<T>> request) {
+        HedgePolicy hedge = hedges.get(endpoint);
+        if (hedge == null) return attemptReactive(endpoint, request, () -> {});
+
+        return Mono.defer(() -> {
+            // hedge 기준(p95)은 rate limit 토큰을 받은 뒤의 HTTP 지연이라 타이머도 primary 가 토큰을 받은 시점부터
+            Sinks.Empty<Void> permitted = Sinks.empty();
+            Sinks.One<Boolean> primaryDone = Sinks.one();
+            AtomicReference<Throwable> primaryError = new AtomicReference<>();
+            Mono<T> primary = attemptReactive(endpoint, request, permitted::tryEmitEmpty)
+                    .doOnError(primaryError::set)
+                    .doOnTerminate(() -> primaryDone.tryEmitValue(true));
+            Duration delay = hedge.delay();
+            if (delay == null) return primary;
+
+            // hedge 를 보내기 전에 primary 가 끝나면(실패 포함) 타이머를 멈추고 hedge 는 없음. 예산 밖이어도 없음
+            Mono<T> secondary = permitted.asMono()
+                    .then(Mono.delay(delay))
+                    .takeUntilOther(primaryDone.asMono())
+                    .flatMap(tick -> {
+                        if (!hedge.tryHedge()) return Mono.empty();
+                        hedgeCounter(endpoint, "sent").increment();
+                        return attemptReactive(endpoint, request, () -> {})
+                                .doOnNext(value -> hedgeCounter(endpoint, "won").increment());
+                    });
+            // 먼저 값을 낸 쪽을 쓰고 나머지는 취소: hedge 가 나가 있으면 primary 가 실패해도 hedge 결과를 기다림.
+            // 둘 다 값이 없으면 primary 의 오류 그대로(circuit / stale fallback 판단이 원래 예외를 봄)
+            return Mono.firstWithValue(primary, secondary)
+                    .onErrorResume(NoSuchElementException.class, e -> {
+                        Throwable failed = primaryError.get();
+                        return failed != null ? Mono.error(failed) : Mono.empty();
+                    });
+        });
+    }
+
+    /** 엔드포인트별 응답 timeout (http.client.timeouts.<endpoint>) */
+    public Consumer<ClientHttpRequest> responseTimeout(AmadeusEndpoint endpoint) {
+        return timeouts.responseTimeout(endpoint.key());
+    }
+
+    /**
+     * Amadeus 쪽 장애로 볼 실패인지(circuit open / 5xx / 429 / timeout / 연결 오류).
+     * 호출부에서 캐시된 이전 결과로 대신할지 판단할 때 씀.
+     */
+    public static boolean isOutage(Throwable e) {
+        Throwable cause = Exceptions.unwrap(e);
+        return cause instanceof AmadeusUnavailableException || countsAsFailure(cause);
+    }
+
+    // ===== helpers =====
+
+    /** onPermit: rate limit 토큰을 받고 요청을 보내기 직전(401 재시도면 한 번 더) */
+    private <T> Mono<T> attemptReactive(AmadeusEndpoint endpoint, Function<String, Mono<T>> request, Runnable onPermit) {
+        CircuitBreaker breaker = breakers.get(endpoint);
+        return CallPriority.currentReactive().flatMap(priority -> auth.withTokenReactive(token ->
+                Mono.defer(() -> {
+                    if (!breaker.tryAcquire()) return Mono.error(new AmadeusUnavailableException(endpoint));
+
+                    long[] start = {0};
+                    Timer.Sample wait = Timer.start(registry);
+                    return Mono.fromFuture(() -> rateLimiter.acquireAsync(endpoint, priority))
+                            .doFinally(signal -> wait.stop(waitTimer(endpoint, priority)))
+                            .then(Mono.defer(() -> {
+                                start[0] = System.nanoTime();
+                                onPermit.run();
+                                return request.apply(token);
+                            }))
+                            .doOnSuccess(value -> {
+                                breaker.onSuccess();
+                                recordLatency(endpoint, System.nanoTime() - start[0]);
+                            })
+                            .doOnError(e -> {
+                                if (start[0] == 0) breaker.onIgnored(); // rate limit 대기 단계에서 실패
+                                else onError(breaker, e);
+                            })
+                            .doOnCancel(breaker::onIgnored);
+                })
+        ));
+    }
+
+    private void onError(CircuitBreaker breaker, Throwable e) {
+        Throwable cause = Exceptions.unwrap(e);
+        if (cause instanceof InterruptedException || Thread.currentThread().isInterrupted()) {
+            breaker.onIgnored(); // 호출부가 포기한 것(가지치기 등)
+        } else if (countsAsFailure(cause)) {
+            breaker.onFailure();
+        } else {
+            breaker.onSuccess(); // 4xx 등: Amadeus 는 정상 응답
+        }
+    }
+
+    private static boolean countsAsFailure(Throwable cause) {
+        if (cause instanceof WebClientResponseException e) {
+            return e.getStatusCode().is5xxServerError() || e.getStatusCode().value() == 429;
+        }
+        return cause instanceof WebClientRequestException || cause instanceof TimeoutException;
+    }
+
+    private void recordLatency(AmadeusEndpoint endpoint, long nanos) {
+        HedgePolicy hedge = hedges.get(endpoint);
+        if (hedge != null) hedge.record(nanos);
+    }
+
+    private Counter hedgeCounter(AmadeusEndpoint endpoint, String result) {
+        return Counter.builder("amadeus.hedge")
+                .tag("endpoint", endpoint.key())
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private Timer waitTimer(AmadeusEndpoint endpoint, CallPriority priority) {
+        return Timer.builder("amadeus.rate-limit.wait")
+                .tag("endpoint", endpoint.key())
+                .tag("priority", priority.name())
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -1,5 +1,6 @@
 package com.baru.backend.service.amadeus;
 
+import com.baru.backend.config.OutboundMetricsFilter;
 import com.baru.backend.dto.trip.TripSearchResponse;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
@@ -20,57 +22,40 @@ import java.util.*;
 public class AmadeusHotelService {
 
     private final WebClient webClient;
-    private final AmadeusAuthService auth;
+    private final AmadeusGateway gateway;
 
     public AmadeusHotelService(
             WebClient.Builder builder,
             @Value("${amadeus.base-url}") String baseUrl,
-            AmadeusAuthService auth
+            AmadeusGateway gateway
     ) {
         this.webClient = builder.baseUrl(baseUrl).build();
-        this.auth = auth;
+        this.gateway = gateway;
     }
 
     public List<HotelMeta> listHotelsByCity(String cityCode, int limit) {
         if (cityCode == null || cityCode.isBlank()) return List.of();
-        String token = auth.getAccessToken();
-
         try {
-            JsonNode root = webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/v1/reference-data/locations/hotels/by-city")
-                            .queryParam("cityCode", cityCode)
-                            .queryParam("radius", 20)
-                            .queryParam("radiusUnit", "KM")
-                            .queryParam("hotelSource", "ALL")
-                            .build())
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(JsonNode.class)
-                    .block();
-
-            JsonNode data = root == null ? null : root.path("data");
-            if (data == null || !data.isArray()) return List.of();
-
-            List<HotelMeta> hotels = new ArrayList<>();
-            for (JsonNode h : data) {
-                String id = h.path("hotelId").asText(null);
-                String name = h.path("name").asText("");
-                if (id == null || id.isBlank()) continue;
-                hotels.add(new HotelMeta(id, name));
-                if (hotels.size() >= limit) break;
-            }
-            return hotels;
+            JsonNode root = gateway.call(AmadeusEndpoint.HOTELS_BY_CITY, token -> requestHotelsByCity(token, cityCode).block());
+            return hotelMetas(root, limit);
 
         } catch (WebClientResponseException e) {
-            log.error("[AMADEUS] hotels/by-city error status={}, body={}", e.getStatusCode(), e.getResponseBodyAsString());
-            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Amadeus hotels-by-city failed: " + e.getStatusCode());
+            throw hotelsByCityFailed(e);
         } catch (Exception e) {
             log.error("[AMADEUS] hotels/by-city unknown error", e);
             throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Amadeus hotels-by-city failed");
         }
     }
 
+    /** listHotelsByCity 의 논블로킹 버전 */
+    public Mono<List<HotelMeta>> listHotelsByCityReactive(String cityCode, int limit) {
+        if (cityCode == null || cityCode.isBlank()) return Mono.just(List.of());
+        return gateway.callReactive(AmadeusEndpoint.HOTELS_BY_CITY, token -> requestHotelsByCity(token, cityCode))
+                .map(root -> hotelMetas(root, limit))
+                .defaultIfEmpty(List.of())
+                .onErrorMap(WebClientResponseException.class, this::hotelsByCityFailed);
+    }
+
     public TripSearchResponse.HotelCard findCheapestHotelOffer(
             String cityCode,
             List<HotelMeta> hotelMetas,
@@ -78,35 +63,14 @@ public class AmadeusHotelService {
             String checkOutDate,
             int adults
     ) {
-        if (hotelMetas == null || hotelMetas.isEmpty()) return null;
-
         int nights = calcNights(checkInDate, checkOutDate);
-        if (nights <= 0) return null;
-
-        String hotelIds = hotelMetas.stream()
-                .map(HotelMeta::hotelId)
-                .limit(20)
-                .reduce((a, b) -> a + "," + b)
-                .orElse(null);
-
-        if (hotelIds == null) return null;
-
-        String token = auth.getAccessToken();
+        String hotelIds = hotelIdsOf(hotelMetas);
+        if (nights <= 0 || hotelIds == null) return null;
 
         JsonNode root;
         try {
-            root = webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/v3/shopping/hotel-offers")
-                            .queryParam("hotelIds", hotelIds)
-                            .queryParam("adults", adults)
-                            .queryParam("checkInDate", checkInDate)
-                            .queryParam("checkOutDate", checkOutDate)
-                            .build())
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(JsonNode.class)
-                    .block();
+            root = gateway.call(AmadeusEndpoint.HOTEL_OFFERS,
+                    token -> requestHotelOffers(token, hotelIds, adults, checkInDate, checkOutDate).block());
         } catch (WebClientResponseException e) {
             log.error("[AMADEUS] hotel-offers error status={}, body={}", e.getStatusCode(), e.getResponseBodyAsString());
             // 호텔이 막히는 경우가 많아서: 여기서는 null 반환으로 후보만 떨어뜨리게 해도 됨
@@ -116,6 +80,32 @@ public class AmadeusHotelService {
             return null;
         }
 
+        return cheapestOffer(root, cityCode, nights);
+    }
+
+    /** findCheapestHotelOffer 의 논블로킹 버전. 실패/없음은 empty */
+    public Mono<TripSearchResponse.HotelCard> findCheapestHotelOfferReactive(
+            String cityCode,
+            List<HotelMeta> hotelMetas,
+            String checkInDate,
+            String checkOutDate,
+            int adults
+    ) {
+        int nights = calcNights(checkInDate, checkOutDate);
+        String hotelIds = hotelIdsOf(hotelMetas);
+        if (nights <= 0 || hotelIds == null) return Mono.empty();
+
+        return gateway.callReactive(AmadeusEndpoint.HOTEL_OFFERS,
+                        token -> requestHotelOffers(token, hotelIds, adults, checkInDate, checkOutDate))
+                .mapNotNull(root -> cheapestOffer(root, cityCode, nights))
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    log.error("[AMADEUS] hotel-offers error status={}, body={}", e.getStatusCode(), e.getResponseBodyAsString());
+                    return Mono.empty();
+                });
+    }
+
+    /** hotel-offers 응답에서 총액이 가장 싼 offer 1개 (I/O 없음 — src/jmh 벤치마크 대상) */
+    static TripSearchResponse.HotelCard cheapestOffer(JsonNode root, String cityCode, int nights) {
         JsonNode data = root == null ? null : root.path("data");
         if (data == null || !data.isArray()) return null;
 
@@ -155,6 +145,76 @@ public class AmadeusHotelService {
         return best;
     }
 
+    // ===== helpers =====
+
+    private Mono<JsonNode> requestHotelsByCity(String token, String cityCode) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/v1/reference-data/locations/hotels/by-city")
+                        .queryParam("cityCode", cityCode)
+                        .queryParam("radius", 20)
+                        .queryParam("radiusUnit", "KM")
+                        .queryParam("hotelSource", "ALL")
+                        .build())
+                .httpRequest(gateway.responseTimeout(AmadeusEndpoint.HOTELS_BY_CITY))
+                .attribute(OutboundMetricsFilter.ENDPOINT, AmadeusEndpoint.HOTELS_BY_CITY.key())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .retrieve()
+                .bodyToMono(JsonNode.class);
+    }
+
+    private Mono<JsonNode> requestHotelOffers(
+            String token,
+            String hotelIds,
+            int adults,
+            String checkInDate,
+            String checkOutDate
+    ) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/v3/shopping/hotel-offers")
+                        .queryParam("hotelIds", hotelIds)
+                        .queryParam("adults", adults)
+                        .queryParam("checkInDate", checkInDate)
+                        .queryParam("checkOutDate", checkOutDate)
+                        .queryParam("currency", "KRW") // totalWon 으로 쓰므로 원화로 받음
+                        .build())
+                .httpRequest(gateway.responseTimeout(AmadeusEndpoint.HOTEL_OFFERS))
+                .attribute(OutboundMetricsFilter.ENDPOINT, AmadeusEndpoint.HOTEL_OFFERS.key())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .retrieve()
+                .bodyToMono(JsonNode.class);
+    }
+
+    private static List<HotelMeta> hotelMetas(JsonNode root, int limit) {
+        JsonNode data = root == null ? null : root.path("data");
+        if (data == null || !data.isArray()) return List.of();
+
+        List<HotelMeta> hotels = new ArrayList<>();
+        for (JsonNode h : data) {
+            String id = h.path("hotelId").asText(null);
+            String name = h.path("name").asText("");
+            if (id == null || id.isBlank()) continue;
+            hotels.add(new HotelMeta(id, name));
+            if (hotels.size() >= limit) break;
+        }
+        return hotels;
+    }
+
+    private static String hotelIdsOf(List<HotelMeta> hotelMetas) {
+        if (hotelMetas == null || hotelMetas.isEmpty()) return null;
+        return hotelMetas.stream()
+                .map(HotelMeta::hotelId)
+                .limit(20)
+                .reduce((a, b) -> a + "," + b)
+                .orElse(null);
+    }
+
+    private ResponseStatusException hotelsByCityFailed(WebClientResponseException e) {
+        log.error("[AMADEUS] hotels/by-city error status={}, body={}", e.getStatusCode(), e.getResponseBodyAsString());
+        return new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Amadeus hotels-by-city failed: " + e.getStatusCode());
+    }
+
     private int calcNights(String checkIn, String checkOut) {
         try {
             LocalDate in = LocalDate.parse(checkIn);
@@ -165,7 +225,7 @@ public class AmadeusHotelService {
         }
     }
 
-    private int parseMoney(String s) {
+    private static int parseMoney(String s) {
         try {
             double d = Double.parseDouble(s);
             return (int) Math.round(d);
@@ -1,5 +1,7 @@
 package com.baru.backend.service.amadeus;
 
+import com.baru.backend.config.OutboundMetricsFilter;
+import com.baru.backend.service.AirportCityIndex;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,6 +11,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.Locale;
 
@@ -17,55 +21,98 @@ import java.util.Locale;
 public class AmadeusLocationService {
 
     private final WebClient webClient;
-    private final AmadeusAuthService auth;
+    private final AmadeusGateway gateway;
+    private final AirportCityIndex cityIndex;
 
     public AmadeusLocationService(
             WebClient.Builder builder,
             @Value("${amadeus.base-url}") String baseUrl,
-            AmadeusAuthService auth
+            AmadeusGateway gateway,
+            AirportCityIndex cityIndex
     ) {
         this.webClient = builder.baseUrl(baseUrl).build();
-        this.auth = auth;
+        this.gateway = gateway;
+        this.cityIndex = cityIndex;
     }
 
     public String resolveCityCode(String destinationIata) {
         if (destinationIata == null || destinationIata.isBlank()) return null;
 
         String keyword = destinationIata.trim().toUpperCase(Locale.ROOT);
-        String token = auth.getAccessToken();
 
-        try {
-            JsonNode root = webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/v1/reference-data/locations")
-                            .queryParam("subType", "AIRPORT,CITY")
-                            .queryParam("keyword", keyword)
-                            .queryParam("page[limit]", 1)
-                            .build())
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(JsonNode.class)
-                    .block();
+        // 메모리 인덱스에 있으면 네트워크 없이 바로
+        String indexed = cityIndex.cityCodeOf(keyword);
+        if (indexed != null) return indexed;
 
-            JsonNode data = root == null ? null : root.path("data");
-            if (data == null || !data.isArray() || data.isEmpty()) return null;
+        String resolved = fetchCityCode(keyword);
+        if (resolved != null) cityIndex.learn(keyword, resolved);
+        return resolved;
+    }
 
-            JsonNode first = data.get(0);
+    /** resolveCityCode 의 논블로킹 버전. 새로 알아낸 값의 DB 저장(JPA)만 boundedElastic 으로 넘긴다 */
+    public Mono<String> resolveCityCodeReactive(String destinationIata) {
+        if (destinationIata == null || destinationIata.isBlank()) return Mono.empty();
 
-            String cityCode = first.path("address").path("cityCode").asText(null);
-            if (cityCode != null && !cityCode.isBlank()) return cityCode.trim().toUpperCase(Locale.ROOT);
+        String keyword = destinationIata.trim().toUpperCase(Locale.ROOT);
 
-            String iata = first.path("iataCode").asText(null);
-            if (iata != null && !iata.isBlank()) return iata.trim().toUpperCase(Locale.ROOT);
+        String indexed = cityIndex.cityCodeOf(keyword);
+        if (indexed != null) return Mono.just(indexed);
+
+        return gateway.callReactive(AmadeusEndpoint.LOCATIONS, token -> requestLocation(token, keyword))
+                .mapNotNull(AmadeusLocationService::cityCodeOf)
+                .flatMap(resolved -> Mono.fromRunnable(() -> cityIndex.learn(keyword, resolved))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .thenReturn(resolved))
+                .onErrorMap(WebClientResponseException.class, this::locationsFailed);
+    }
 
-            return null;
+    // ===== helpers =====
+
+    private String fetchCityCode(String keyword) {
+        try {
+            JsonNode root = gateway.call(AmadeusEndpoint.LOCATIONS, token -> requestLocation(token, keyword).block());
+            return cityCodeOf(root);
 
         } catch (WebClientResponseException e) {
-            log.error("[AMADEUS] locations error status={}, body={}", e.getStatusCode(), e.getResponseBodyAsString());
-            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Amadeus locations failed: " + e.getStatusCode());
+            throw locationsFailed(e);
         } catch (Exception e) {
             log.error("[AMADEUS] locations unknown error", e);
             throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Amadeus locations failed");
         }
     }
+
+    private Mono<JsonNode> requestLocation(String token, String keyword) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/v1/reference-data/locations")
+                        .queryParam("subType", "AIRPORT,CITY")
+                        .queryParam("keyword", keyword)
+                        .queryParam("page[limit]", 1)
+                        .build())
+                .httpRequest(gateway.responseTimeout(AmadeusEndpoint.LOCATIONS))
+                .attribute(OutboundMetricsFilter.ENDPOINT, AmadeusEndpoint.LOCATIONS.key())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .retrieve()
+                .bodyToMono(JsonNode.class);
+    }
+
+    private static String cityCodeOf(JsonNode root) {
+        JsonNode data = root == null ? null : root.path("data");
+        if (data == null || !data.isArray() || data.isEmpty()) return null;
+
+        JsonNode first = data.get(0);
+
+        String cityCode = first.path("address").path("cityCode").asText(null);
+        if (cityCode != null && !cityCode.isBlank()) return cityCode.trim().toUpperCase(Locale.ROOT);
+
+        String iata = first.path("iataCode").asText(null);
+        if (iata != null && !iata.isBlank()) return iata.trim().toUpperCase(Locale.ROOT);
+
+        return null;
+    }
+
+    private ResponseStatusException locationsFailed(WebClientResponseException e) {
+        log.error("[AMADEUS] locations error status={}, body={}", e.getStatusCode(), e.getResponseBodyAsString());
+        return new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Amadeus locations failed: " + e.getStatusCode());
+    }
 }
@@ -0,0 +1,225 @@
+package com.baru.backend.service.amadeus;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.*;
+
+/**
+ * Amadeus 호출 token-bucket. 호출 1건은 엔드포인트 bucket → 계정 bucket(모든 엔드포인트 공유) 순서로 토큰을 받는다.
+ * BACKGROUND 호출(가격 캘린더 등)은 그 앞에 background bucket 도 거쳐서 계정 한도의 일부만 쓴다.
+ * 토큰이 없으면 우선순위 대기열에 future 로 줄을 세우고, 토큰이 찰 시점에 타이머가 순서대로 깨운다(스핀 없음).
+ * 중간에 포기하면(취소/timeout) 이미 받은 토큰은 돌려준다.
+ */
+@Slf4j
+@Component
+public class AmadeusRateLimiter {
+
+    private final Map<AmadeusEndpoint, TokenBucket> buckets = new EnumMap<>(AmadeusEndpoint.class);
+    private final TokenBucket account;     // 계정 전체 한도. per-second 가 0 이하면 없음
+    private final TokenBucket background;  // BACKGROUND 호출 전체 상한. per-second 가 0 이하면 없음
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "amadeus-rate-limit");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Duration maxWait;
+
+    public AmadeusRateLimiter(
+            Environment env,
+            @Value("${amadeus.rate-limit.per-second:5}") double defaultRate,
+            @Value("${amadeus.rate-limit.burst:5}") int defaultBurst,
+            @Value("${amadeus.rate-limit.max-wait:10s}") Duration maxWait
+    ) {
+        for (AmadeusEndpoint endpoint : AmadeusEndpoint.values()) {
+            String prefix = "amadeus.rate-limit." + endpoint.key();
+            double rate = env.getProperty(prefix + ".per-second", Double.class, defaultRate);
+            int burst = env.getProperty(prefix + ".burst", Integer.class, defaultBurst);
+            buckets.put(endpoint, new TokenBucket(rate, burst));
+        }
+        double accountRate = env.getProperty("amadeus.rate-limit.account.per-second", Double.class, 0d);
+        int accountBurst = env.getProperty("amadeus.rate-limit.account.burst", Integer.class, defaultBurst);
+        this.account = accountRate > 0 ? new TokenBucket(accountRate, accountBurst) : null;
+        double backgroundRate = env.getProperty("amadeus.rate-limit.background.per-second", Double.class, 0d);
+        int backgroundBurst = env.getProperty("amadeus.rate-limit.background.burst", Integer.class, defaultBurst);
+        this.background = backgroundRate > 0 ? new TokenBucket(backgroundRate, backgroundBurst) : null;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * 토큰을 받을 때까지 대기(파킹). 대기 중 인터럽트/최대 대기 초과면 대기열에서 빠지고 예외.
+     * 포기하는 순간 토큰이 막 나왔으면(cancel 실패) timeout 은 그대로 진행, 인터럽트는 토큰을 돌려주고 예외.
+     */
+    public void acquire(AmadeusEndpoint endpoint, CallPriority priority) {
+        CompletableFuture<Void> permit = acquireAsync(endpoint, priority);
+        if (permit.isDone() && !permit.isCompletedExceptionally()) return;
+
+        try {
+            permit.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            if (!permit.cancel(false) && granted(permit)) release(endpoint, priority);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Amadeus rate limit wait interrupted: " + endpoint.key(), e);
+        } catch (TimeoutException e) {
+            if (!permit.cancel(false) && granted(permit)) return; // 포기 직전에 받음 — 버리지 않고 사용
+            throw new IllegalStateException("Amadeus rate limit wait timeout: " + endpoint.key(), e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Amadeus rate limit failed: " + endpoint.key(), e.getCause());
+        }
+    }
+
+    /** 엔드포인트 + 계정 토큰을 모두 받으면 완료되는 future. 취소하면 대기열에서 자리를 포기(받아둔 토큰은 반납) */
+    public CompletableFuture<Void> acquireAsync(AmadeusEndpoint endpoint, CallPriority priority) {
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        acquireFrom(chainOf(endpoint, priority), 0, priority, permit);
+        return permit;
+    }
+
+    /** 받은 토큰을 쓰지 않고 돌려줌(호출 전에 포기한 경우) */
+    public void release(AmadeusEndpoint endpoint, CallPriority priority) {
+        chainOf(endpoint, priority).forEach(TokenBucket::refund);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    // ===== helpers =====
+
+    /** 토큰을 받는 순서. background 상한을 먼저 거쳐야 상한에 걸린 호출이 엔드포인트/계정 토큰을 쥐고 기다리지 않음 */
+    private List<TokenBucket> chainOf(AmadeusEndpoint endpoint, CallPriority priority) {
+        List<TokenBucket> chain = new ArrayList<>(3);
+        if (priority == CallPriority.BACKGROUND && background != null) chain.add(background);
+        chain.add(buckets.get(endpoint));
+        if (account != null) chain.add(account);
+        return chain;
+    }
+
+    /** chain[i] 부터 차례로 토큰을 받음. 중간에 permit 이 취소/실패하면 앞에서 받은 토큰(chain[0..i)) 반납 */
+    private static void acquireFrom(List<TokenBucket> chain, int i, CallPriority priority, CompletableFuture<Void> permit) {
+        if (i == chain.size()) {
+            if (!permit.complete(null)) refund(chain, i);
+            return;
+        }
+        if (permit.isDone()) {
+            refund(chain, i);
+            return;
+        }
+
+        CompletableFuture<Void> stage = chain.get(i).acquire(priority);
+        permit.whenComplete((ignored, error) -> {
+            if (permit.isCancelled()) stage.cancel(false);
+        });
+        stage.whenComplete((ignored, error) -> {
+            if (error != null) {
+                refund(chain, i);
+                permit.completeExceptionally(error);
+                return;
+            }
+            acquireFrom(chain, i + 1, priority, permit);
+        });
+    }
+
+    private static void refund(List<TokenBucket> chain, int granted) {
+        for (int j = 0; j < granted; j++) chain.get(j).refund();
+    }
+
+    private static boolean granted(CompletableFuture<Void> permit) {
+        return permit.isDone() && !permit.isCompletedExceptionally();
+    }
+
+    // ===== token bucket =====
+
+    private final class TokenBucket {
+
+        private final double perNano;
+        private final int burst;
+        private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(
+                Comparator.comparing(Waiter::priority).thenComparingLong(Waiter::seq)
+        );
+
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+        private long seq;
+        private boolean drainScheduled;
+
+        TokenBucket(double perSecond, int burst) {
+            this.perNano = perSecond / 1_000_000_000d;
+            this.burst = Math.max(1, burst);
+            this.tokens = this.burst;
+        }
+
+        CompletableFuture<Void> acquire(CallPriority priority) {
+            synchronized (this) {
+                refill();
+                while (!waiters.isEmpty() && waiters.peek().permit().isDone()) waiters.poll(); // 포기한 대기자 정리
+                if (waiters.isEmpty() && tokens >= 1) {
+                    tokens -= 1;
+                    return CompletableFuture.completedFuture(null);
+                }
+                Waiter waiter = new Waiter(priority, seq++, new CompletableFuture<>());
+                waiters.add(waiter);
+                scheduleDrain();
+                return waiter.permit();
+            }
+        }
+
+        /** 쓰지 않은 토큰 1개 반납 */
+        void refund() {
+            synchronized (this) {
+                refill();
+                tokens = Math.min(burst, tokens + 1);
+                if (!waiters.isEmpty()) scheduleDrain();
+            }
+        }
+
+        private void drain() {
+            List<CompletableFuture<Void>> granted = new ArrayList<>();
+            synchronized (this) {
+                drainScheduled = false;
+                refill();
+                while (tokens >= 1 && !waiters.isEmpty()) {
+                    Waiter waiter = waiters.poll();
+                    if (waiter.permit().isDone()) continue; // 대기 포기(취소/timeout)
+                    tokens -= 1;
+                    granted.add(waiter.permit());
+                }
+                if (!waiters.isEmpty()) scheduleDrain();
+            }
+            // 락 밖에서 깨움. 그 사이 대기를 포기했으면(cancel 이 먼저) 토큰 반납
+            for (CompletableFuture<Void> permit : granted) {
+                if (!permit.complete(null)) refund();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (drainScheduled) return;
+            drainScheduled = true;
+            long delayNanos = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / perNano);
+            try {
+                timer.schedule(this::drain, delayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                log.warn("[AMADEUS] rate limiter is shut down");
+            }
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - lastRefill) * perNano);
+            lastRefill = now;
+        }
+    }
+
+    private record Waiter(CallPriority priority, long seq, CompletableFuture<Void> permit) {}
+}
@@ -0,0 +1,14 @@
+package com.baru.backend.service.amadeus;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * circuit breaker 가 열려 있어 호출을 보내지 않고 바로 거절함.
+ */
+public class AmadeusUnavailableException extends ResponseStatusException {
+
+    public AmadeusUnavailableException(AmadeusEndpoint endpoint) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Amadeus " + endpoint.key() + " circuit open");
+    }
+}
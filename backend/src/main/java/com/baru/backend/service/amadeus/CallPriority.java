@@ -0,0 +1,43 @@
+package com.baru.backend.service.amadeus;
+
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Amadeus 호출 우선순위. rate limit 대기열에서 INTERACTIVE → BULK → BACKGROUND 순으로 나간다.
+ * 따로 지정하지 않은 호출(검색 fan-out)은 BULK, 가격 캘린더 같은 백그라운드 잡은 BACKGROUND.
+ */
+public enum CallPriority {
+
+    INTERACTIVE,
+    BULK,
+    BACKGROUND;
+
+    private static final ThreadLocal<CallPriority> CURRENT = ThreadLocal.withInitial(() -> BULK);
+
+    public static CallPriority current() {
+        return CURRENT.get();
+    }
+
+    /** 리액티브 호출은 스레드가 바뀌므로 Reactor Context 로 전달(없으면 BULK) */
+    public static Mono<CallPriority> currentReactive() {
+        return Mono.deferContextual(ctx -> Mono.just(ctx.getOrDefault(CallPriority.class, BULK)));
+    }
+
+    /** 이 Mono 안의 Amadeus 호출을 이 우선순위로 */
+    public <T> Mono<T> run(Mono<T> call) {
+        return call.contextWrite(ctx -> ctx.put(CallPriority.class, this));
+    }
+
+    /** 현재 스레드에서 이 우선순위로 실행 */
+    public <T> T run(Supplier<T> call) {
+        CallPriority previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return call.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+}
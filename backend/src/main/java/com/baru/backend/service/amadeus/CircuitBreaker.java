@@ -0,0 +1,113 @@
+package com.baru.backend.service.amadeus;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * 엔드포인트 하나의 circuit breaker. 최근 window 건 중 실패 비율이 기준을 넘으면 open → openDuration 동안 즉시 거절.
+ * 그 뒤 half-open 에서 halfOpenCalls 건만 통과시켜 모두 성공하면 close, 하나라도 실패하면 다시 open.
+ * 실패는 5xx/429/timeout/IO 만 센다(4xx 는 요청 문제라 Amadeus 상태와 무관).
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int minCalls;
+    private final double failureRate;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+
+    // 최근 결과 ring buffer (true = 실패)
+    private final boolean[] outcomes;
+    private int next;
+    private int count;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenInFlight;
+    private int halfOpenSucceeded;
+
+    CircuitBreaker(int window, int minCalls, double failureRate, Duration openDuration, int halfOpenCalls, LongSupplier clock) {
+        this.outcomes = new boolean[Math.max(1, window)];
+        this.minCalls = Math.max(1, Math.min(minCalls, outcomes.length));
+        this.failureRate = failureRate;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.clock = clock;
+    }
+
+    /** 호출해도 되면 true. true 를 받았으면 결과(onSuccess/onFailure/onIgnored) 중 하나를 꼭 알려야 함 */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) return false;
+            state = State.HALF_OPEN;
+            halfOpenInFlight = 0;
+            halfOpenSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight >= halfOpenCalls) return false;
+            halfOpenInFlight++;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        switch (state) {
+            case CLOSED -> record(false);
+            case HALF_OPEN -> {
+                halfOpenInFlight--;
+                if (++halfOpenSucceeded >= halfOpenCalls) close();
+            }
+            case OPEN -> { } // open 전에 나간 호출의 늦은 응답은 무시
+        }
+    }
+
+    synchronized void onFailure() {
+        switch (state) {
+            case CLOSED -> {
+                record(true);
+                if (count >= minCalls && failures >= failureRate * count) open();
+            }
+            case HALF_OPEN -> open();
+            case OPEN -> { }
+        }
+    }
+
+    /** 결과를 판단할 수 없는 종료(취소, rate limit 대기 실패 등). half-open 자리만 돌려줌 */
+    synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenInFlight > 0) halfOpenInFlight--;
+    }
+
+    synchronized State state() {
+        // open 시간이 지났으면 다음 호출에서 half-open 으로 넘어감 — 지표에는 미리 반영
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) return State.HALF_OPEN;
+        return state;
+    }
+
+    // ===== helpers =====
+
+    private void record(boolean failed) {
+        if (count == outcomes.length) {
+            if (outcomes[next]) failures--;
+        } else {
+            count++;
+        }
+        outcomes[next] = failed;
+        if (failed) failures++;
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        count = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,282 @@
+package com.baru.backend.service.amadeus;
+
+import com.baru.backend.dto.flight.FlightOffer;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * flight-offers 응답을 트리(Map/JsonNode)로 만들지 않고 토큰 단위로 읽어서
+ * 필요한 필드만 {@link FlightOffer} 로 옮긴다. 나머지(travelerPricings, dictionaries 등)는 건너뜀.
+ * 응답 전체가 메모리에 있으면 {@link #decode}, 네트워크 청크가 오는 대로 읽으려면 {@link Incremental}.
+ */
+public final class FlightOfferDecoder {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final Set<String> OFFER_FIELDS = Set.of("price", "itineraries"); // readOffer 가 읽는 필드
+
+    private FlightOfferDecoder() {
+    }
+
+    public static List<FlightOffer> decode(InputStream in) throws IOException {
+        try (JsonParser p = JSON.createParser(in)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return List.of();
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    List<FlightOffer> offers = new ArrayList<>();
+                    while (p.nextToken() == JsonToken.START_OBJECT) {
+                        FlightOffer offer = readOffer(p);
+                        if (offer != null) offers.add(offer);
+                    }
+                    return offers; // data 뒤의 dictionaries 는 읽을 필요 없음
+                }
+                p.skipChildren();
+            }
+            return List.of();
+        }
+    }
+
+    /**
+     * 논블로킹 파서에 청크를 받는 대로 넣고, data[] 의 offer 하나가 끝날 때마다 변환.
+     * 들고 있는 건 지금 읽는 offer 1건의 price / itineraries 토큰뿐(travelerPricings 등은 버퍼에 넣지 않고 건너뜀)이라
+     * 응답 전체를 한 버퍼로 모으지 않는다. 응답 1건당 1개(스레드 안전하지 않음).
+     */
+    public static final class Incremental {
+
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+        private final List<FlightOffer> offers = new ArrayList<>();
+
+        private int depth;              // 지금 토큰의 중첩 깊이(루트 객체 안 = 1, data 배열 안 = 2)
+        private String rootField;       // 루트 객체에서 마지막으로 본 필드명
+        private boolean inData;
+        private boolean done;           // data 배열이 끝남(뒤의 dictionaries 는 버림)
+        private TokenBuffer offer;      // 읽는 중인 offer 1건(price / itineraries 토큰만)
+        private boolean skipping;       // offer 의 안 쓰는 필드(travelerPricings 등) 값을 건너뛰는 중
+
+        public Incremental() {
+            try {
+                this.parser = JSON.createNonBlockingByteArrayParser();
+            } catch (IOException e) {
+                throw new IllegalStateException("JSON 파서 생성 실패", e);
+            }
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        /** 청크 하나를 넣고 그 안에서 끝난 offer 까지 변환 */
+        public Incremental feed(byte[] chunk, int offset, int length) throws IOException {
+            if (done || length == 0) return this;
+            feeder.feedInput(chunk, offset, offset + length);
+            drain();
+            return this;
+        }
+
+        /** 입력 끝. 지금까지 변환한 offer 전부 */
+        public List<FlightOffer> finish() throws IOException {
+            if (!done) {
+                feeder.endOfInput();
+                drain();
+            }
+            parser.close();
+            return offers;
+        }
+
+        private void drain() throws IOException {
+            JsonToken t;
+            while (!done && (t = parser.nextToken()) != null && t != JsonToken.NOT_AVAILABLE) {
+                onToken(t);
+            }
+        }
+
+        private void onToken(JsonToken t) throws IOException {
+            if (offer != null) {
+                // 논블로킹 파서는 skipChildren() 이 안 되므로 깊이로 건너뜀: 값이 끝나서 offer 바로 안(3)으로 돌아올 때까지
+                if (skipping) {
+                    depth += delta(t);
+                    if (depth == 3) skipping = false;
+                    return;
+                }
+                if (depth == 3 && t == JsonToken.FIELD_NAME && !OFFER_FIELDS.contains(parser.currentName())) {
+                    skipping = true;
+                    return;
+                }
+                offer.copyCurrentEvent(parser);
+                depth += delta(t);
+                if (depth == 2) {   // offer 객체가 닫힘
+                    try (JsonParser p = offer.asParser()) {
+                        p.nextToken(); // START_OBJECT
+                        FlightOffer read = readOffer(p);
+                        if (read != null) offers.add(read);
+                    }
+                    offer = null;
+                }
+                return;
+            }
+
+            if (inData) {
+                if (t == JsonToken.START_OBJECT && depth == 2) {
+                    offer = new TokenBuffer(null, false);
+                    offer.copyCurrentEvent(parser);
+                } else if (t == JsonToken.END_ARRAY && depth == 2) {
+                    done = true;
+                }
+                depth += delta(t);
+                return;
+            }
+
+            if (depth == 0 && t != JsonToken.START_OBJECT) {   // 루트가 객체가 아니면 offer 없음
+                done = true;
+                return;
+            }
+            if (depth == 1 && t == JsonToken.FIELD_NAME) {
+                rootField = parser.currentName();
+            } else if (depth == 1 && t == JsonToken.START_ARRAY && "data".equals(rootField)) {
+                inData = true;
+            }
+            depth += delta(t);
+        }
+
+        private static int delta(JsonToken t) {
+            return switch (t) {
+                case START_OBJECT, START_ARRAY -> 1;
+                case END_OBJECT, END_ARRAY -> -1;
+                default -> 0;
+            };
+        }
+    }
+
+    // ===== helpers =====
+
+    /**
+     * price.total 이 없거나 숫자가 아니면 null(0원으로 읽으면 항상 최저가가 되므로 버림).
+     * itinerary 나 segment 가 없는 offer 도 카드로 만들 수 없으므로 null.
+     */
+    private static FlightOffer readOffer(JsonParser p) throws IOException {
+        String currency = "KRW";
+        Double total = null;
+        List<FlightOffer.Itinerary> itineraries = new ArrayList<>(2);
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+
+            if ("price".equals(field) && value == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String priceField = p.currentName();
+                    p.nextToken();
+                    switch (priceField) {
+                        case "currency" -> currency = p.getText();
+                        case "total" -> total = readAmount(p);
+                        default -> p.skipChildren();
+                    }
+                }
+            } else if ("itineraries".equals(field) && value == JsonToken.START_ARRAY) {
+                while (p.nextToken() == JsonToken.START_OBJECT) {
+                    itineraries.add(readItinerary(p));
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+        if (total == null || itineraries.isEmpty()) return null;
+        for (FlightOffer.Itinerary itinerary : itineraries) {
+            if (itinerary.segments().isEmpty()) return null;
+        }
+        return new FlightOffer(currency, total, itineraries);
+    }
+
+    /** "140.40" / 140.40 → 140.40, 숫자가 아니면(null, "N/A", 객체 등) null */
+    private static Double readAmount(JsonParser p) throws IOException {
+        double amount;
+        switch (p.currentToken()) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> amount = p.getDoubleValue();
+            case VALUE_STRING -> {
+                try {
+                    amount = Double.parseDouble(p.getText().trim());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+            default -> {
+                p.skipChildren();
+                return null;
+            }
+        }
+        return Double.isFinite(amount) ? amount : null;
+    }
+
+    private static FlightOffer.Itinerary readItinerary(JsonParser p) throws IOException {
+        int durationMinutes = 0;
+        List<FlightOffer.Segment> segments = new ArrayList<>(2);
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+
+            if ("duration".equals(field)) {
+                durationMinutes = (int) Duration.parse(p.getText()).toMinutes();
+            } else if ("segments".equals(field) && value == JsonToken.START_ARRAY) {
+                while (p.nextToken() == JsonToken.START_OBJECT) {
+                    segments.add(readSegment(p));
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+        return new FlightOffer.Itinerary(durationMinutes, segments);
+    }
+
+    private static FlightOffer.Segment readSegment(JsonParser p) throws IOException {
+        String carrierCode = null;
+        String number = null;
+        String from = null;
+        String departureAt = null;
+        String to = null;
+        String arrivalAt = null;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+
+            switch (field) {
+                case "carrierCode" -> carrierCode = p.getText();
+                case "number" -> number = p.getText();
+                case "departure", "arrival" -> {
+                    String iata = null;
+                    String at = null;
+                    if (value == JsonToken.START_OBJECT) {
+                        while (p.nextToken() == JsonToken.FIELD_NAME) {
+                            String pointField = p.currentName();
+                            p.nextToken();
+                            if ("iataCode".equals(pointField)) iata = p.getText();
+                            else if ("at".equals(pointField)) at = p.getText();
+                            else p.skipChildren();
+                        }
+                    }
+                    if ("departure".equals(field)) {
+                        from = iata;
+                        departureAt = at;
+                    } else {
+                        to = iata;
+                        arrivalAt = at;
+                    }
+                }
+                default -> p.skipChildren();
+            }
+        }
+        return new FlightOffer.Segment(carrierCode, number, from, departureAt, to, arrivalAt);
+    }
+}
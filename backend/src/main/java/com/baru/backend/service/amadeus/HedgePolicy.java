@@ -0,0 +1,79 @@
+package com.baru.backend.service.amadeus;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * hedged request 기준. 최근 성공 응답 지연의 percentile 을 넘겨도 답이 없으면 같은 요청을 한 번 더 보낸다.
+ * 추가 요청은 전체 호출의 maxRatio 까지만(느려진 상황에서 부하를 두 배로 만들지 않도록).
+ */
+final class HedgePolicy {
+
+    private final double percentile;
+    private final Duration minDelay;
+    private final double maxRatio;
+    private final int minSamples;
+
+    // 최근 지연(ns) ring buffer
+    private final long[] samples;
+    private int next;
+    private int size;
+
+    // percentile 은 recomputeEvery 건마다 다시 계산(매 호출 정렬하지 않음)
+    private static final int RECOMPUTE_EVERY = 32;
+    private int sinceRecompute;
+    private long cachedNanos = -1;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+
+    HedgePolicy(double percentile, Duration minDelay, double maxRatio, int window, int minSamples) {
+        this.percentile = percentile;
+        this.minDelay = minDelay;
+        this.maxRatio = maxRatio;
+        this.samples = new long[Math.max(1, window)];
+        this.minSamples = Math.max(1, Math.min(minSamples, samples.length));
+    }
+
+    /** 성공한 요청의 HTTP 지연 */
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        if (size < samples.length) size++;
+        if (++sinceRecompute >= RECOMPUTE_EVERY || cachedNanos < 0) recompute();
+    }
+
+    /** 이번 호출의 hedge 대기 시간. 표본이 모자라면 null(hedge 안 함) */
+    Duration delay() {
+        calls.increment();
+        long nanos;
+        synchronized (this) {
+            nanos = cachedNanos;
+        }
+        if (nanos < 0) return null;
+        Duration threshold = Duration.ofNanos(nanos);
+        return threshold.compareTo(minDelay) < 0 ? minDelay : threshold;
+    }
+
+    /** 예산(maxRatio) 안이면 hedge 1건을 쓰고 true */
+    boolean tryHedge() {
+        if (hedges.sum() >= calls.sum() * maxRatio) return false;
+        hedges.increment();
+        return true;
+    }
+
+    // ===== helpers =====
+
+    private void recompute() {
+        sinceRecompute = 0;
+        if (size < minSamples) {
+            cachedNanos = -1;
+            return;
+        }
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        cachedNanos = sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
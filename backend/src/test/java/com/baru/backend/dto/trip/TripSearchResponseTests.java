@@ -0,0 +1,95 @@
+package com.baru.backend.dto.trip;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TripSearchResponseTests {
+
+	// TripResultStore 와 같은 설정
+	private final ObjectMapper mapper = new ObjectMapper()
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	@Test
+	void roundTripsThroughStoredJson() throws Exception {
+		TripSearchResponse response = TripSearchResponse.builder()
+				.requested(TripSearchRequest.builder()
+						.budgetWon(800000)
+						.people(2)
+						.departDate("2026-11-12")
+						.returnDate("2026-11-15")
+						.originLocationCodes(List.of("ICN", "GMP"))
+						.build())
+				.searchedAt("2026-10-18T03:00:00Z")
+				.exchange(TripSearchResponse.Exchange.builder()
+						.base("KRW")
+						.rates(TripSearchResponse.Rates.builder().JPY(9.12).USD(1385.5).build())
+						.updatedAt("2026-10-18T02:00:00Z")
+						.build())
+				.budget(TripSearchResponse.Budget.builder()
+						.budgetWon(800000)
+						.estimatedTotalWon(612000)
+						.remainingWon(188000)
+						.hotelIncluded(true)
+						.build())
+				.flights(List.of(flight("NRT", 189821, true), flight("KIX", 240000, false)))
+				.hotels(List.of(TripSearchResponse.HotelCard.builder()
+						.hotelId("TYNRT123")
+						.name("NARITA STAY")
+						.cityCode("TYO")
+						.totalWon(422179)
+						.perNightWon(140726)
+						.nights(3)
+						.build()))
+				.build();
+
+		String json = mapper.writeValueAsString(response);
+		assertThat(json).contains("\"jpy\":9.12", "\"usd\":1385.5").doesNotContain("JPY", "USD");
+
+		TripSearchResponse read = mapper.readValue(json, TripSearchResponse.class);
+		assertThat(read).usingRecursiveComparison().isEqualTo(response);
+		assertThat(read.getFlights()).extracting(TripSearchResponse.FlightCard::isHotelIncluded).containsExactly(true, false);
+		assertThat(read.getHotels()).singleElement().extracting(TripSearchResponse.HotelCard::getHotelId).isEqualTo("TYNRT123");
+	}
+
+	@Test
+	void readsRowsWrittenBeforeFieldsWereAdded() throws Exception {
+		String json = """
+				{"searchedAt":"2026-10-18T03:00:00Z",
+				 "exchange":{"base":"KRW","rates":{"jpy":9.12,"usd":1385.5},"updatedAt":"2026-10-18T02:00:00Z"},
+				 "budget":{"budgetWon":800000,"estimatedTotalWon":379642,"remainingWon":420358},
+				 "flights":[],"hotels":[],"removedField":1}
+				""";
+
+		TripSearchResponse read = mapper.readValue(json, TripSearchResponse.class);
+
+		assertThat(read.getExchange().getRates().getJPY()).isEqualTo(9.12);
+		assertThat(read.getBudget().getEstimatedTotalWon()).isEqualTo(379642);
+		assertThat(read.getBudget().isHotelIncluded()).isFalse();
+	}
+
+	private static TripSearchResponse.FlightCard flight(String destination, int priceWon, boolean hotelIncluded) {
+		return TripSearchResponse.FlightCard.builder()
+				.airline("ZE")
+				.priceWon(priceWon)
+				.departureAirport("ICN")
+				.departureTime("2026-11-12T08:07:00")
+				.arrivalAirport(destination)
+				.arrivalTime("2026-11-12T10:07:00")
+				.durationMinutes(120)
+				.stops(0)
+				.segments(List.of(TripSearchResponse.Segment.builder()
+						.flightNo("ZE701")
+						.from("ICN")
+						.to(destination)
+						.depTime("2026-11-12T08:07:00")
+						.arrTime("2026-11-12T10:07:00")
+						.build()))
+				.hotelIncluded(hotelIncluded)
+				.build();
+	}
+}
@@ -0,0 +1,87 @@
+package com.baru.backend.service;
+
+import com.baru.backend.dto.trip.TripBatchSearchResponse;
+import com.baru.backend.dto.trip.TripSearchRequest;
+import com.baru.backend.dto.trip.TripSearchResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static com.baru.backend.service.TripSearchFixture.DEPART;
+import static com.baru.backend.service.TripSearchFixture.RETURN;
+import static com.baru.backend.service.TripSearchFixture.request;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchTripSearchServiceTests {
+
+	private final TripSearchFixture fixture = new TripSearchFixture();
+	private final SimpleMeterRegistry registry = fixture.registry;
+	private final BatchTripSearchService service = new BatchTripSearchService(
+			fixture.pricing, fixture.resultCache, Schedulers.boundedElastic(), registry);
+
+	@BeforeEach
+	void setUp() {
+		// @Value 기본값(application.properties 와 같음)
+		ReflectionTestUtils.setField(service, "batchMaxRequests", 500);
+		ReflectionTestUtils.setField(service, "batchMaxCalls", 2000);
+		ReflectionTestUtils.setField(service, "batchConcurrency", 20);
+		ReflectionTestUtils.setField(service, "batchTimeout", Duration.ofSeconds(30));
+		ReflectionTestUtils.setField(service, "batchHotelTimeout", Duration.ofSeconds(30));
+	}
+
+	@Test
+	void batchCallsSharedLegsOnceAndIsolatesBadRequests() {
+		TripSearchResponse stored = TripSearchResponse.builder()
+				.searchedAt(Instant.now().toString())
+				.flights(List.of())
+				.hotels(List.of())
+				.build();
+		when(fixture.store.findResponses(anyCollection()))
+				.thenReturn(Map.of(String.join("|", "700000", "1", DEPART, RETURN, "false", "GMP", "GMP"), stored));
+		when(fixture.routes.destinations("PUS")).thenThrow(new IllegalStateException("route graph unavailable"));
+
+		TripSearchRequest badDate = request();
+		badDate.setDepartDate("2026-13-01");
+		TripSearchRequest fromDb = request("GMP", 700000);
+		List<TripSearchRequest> reqs = List.of(request(), request("ICN", 1_500_000), badDate, fromDb, request("PUS", 2_000_000));
+
+		TripBatchSearchResponse batch = service.searchBatch(reqs).block(Duration.ofSeconds(5));
+
+		assertThat(batch.getErrors()).containsExactly(
+				null, null, "departDate / returnDate 는 YYYY-MM-DD 로 보내야 함", null, "검색 준비 실패");
+		assertThat(batch.getResults().get(0).getFlights())
+				.extracting(TripSearchResponse.FlightCard::getArrivalAirport).containsExactly("NRT");
+		assertThat(batch.getResults().get(1).getFlights())
+				.extracting(TripSearchResponse.FlightCard::getArrivalAirport).containsExactly("NRT");
+		assertThat(batch.getResults().get(2)).isNull();
+		assertThat(batch.getResults().get(3).getRequested()).isSameAs(fromDb);
+		assertThat(batch.getResults().get(4)).isNull();
+
+		// 두 요청이 같은 왕복 2건(NRT, CDG)을 같이 씀 → 구간 사용 4, 호출 2
+		TripBatchSearchResponse.Plan plan = batch.getPlan();
+		assertThat(plan.getRequests()).isEqualTo(5);
+		assertThat(plan.getReused()).isEqualTo(1);
+		assertThat(plan.getRejected()).isEqualTo(2);
+		assertThat(plan.getLegUses()).isEqualTo(4);
+		assertThat(plan.getFlightCalls()).isEqualTo(2);
+		assertThat(plan.getSkippedCalls()).isZero();
+		verify(fixture.flights, times(1)).findOffersRoundTripReactive("ICN", "NRT", DEPART, RETURN, 1, 1, "KRW");
+		verify(fixture.store, never()).findResponse(anyString());
+
+		// 계획은 (요청, 목적지, 출발공항)마다 한 번만 셈
+		assertThat(registry.counter("trip.search.plan", "plan", "round-trip").count()).isEqualTo(4);
+	}
+}
@@ -0,0 +1,116 @@
+package com.baru.backend.service;
+
+import com.baru.backend.config.OutboundTimeouts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ExchangeRateServiceTests {
+
+	private final AtomicReference<HttpStatus> status = new AtomicReference<>(HttpStatus.OK);
+	private final AtomicReference<String> body = new AtomicReference<>();
+	private final List<String> requested = new CopyOnWriteArrayList<>();
+
+	private final ExchangeRateService service = new ExchangeRateService(
+			WebClient.builder().exchangeFunction(request -> {
+				requested.add(request.url().getPath());
+				return Mono.just(ClientResponse.create(status.get())
+						.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+						.body(body.get())
+						.build());
+			}),
+			new OutboundTimeouts(new MockEnvironment(), Duration.ofSeconds(5))
+	);
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(service, "baseUrl", "http://exchange.test/v6");
+		ReflectionTestUtils.setField(service, "apiKey", "key");
+		ReflectionTestUtils.setField(service, "snapshotBase", "KRW");
+	}
+
+	@Test
+	void snapshotUsesProviderUpdateTimeAndDoubleRates() {
+		body.set("""
+				{"result":"success","time_last_update_unix":1760745601,
+				 "conversion_rates":{"KRW":1,"JPY":0.1096,"USD":0.000722}}
+				""");
+
+		service.refresh();
+		ExchangeRateService.RateSnapshot snapshot = service.snapshot("krw");
+
+		assertThat(snapshot.base()).isEqualTo("KRW");
+		assertThat(snapshot.rates()).containsEntry("KRW", 1.0).containsEntry("JPY", 0.1096).containsEntry("USD", 0.000722);
+		assertThat(snapshot.updatedAt())
+				.isEqualTo(LocalDateTime.ofInstant(Instant.ofEpochSecond(1760745601), ZoneId.systemDefault()));
+	}
+
+	@Test
+	void missingUpdateTimeFallsBackToFetchTime() {
+		body.set("{\"conversion_rates\":{\"KRW\":1}}");
+
+		service.refresh();
+
+		assertThat(service.snapshot("KRW").updatedAt()).isCloseTo(LocalDateTime.now(), within(5, ChronoUnit.SECONDS));
+	}
+
+	@Test
+	void failedRefreshKeepsLastSnapshotWithoutRefetching() {
+		body.set("{\"time_last_update_unix\":1760745601,\"conversion_rates\":{\"KRW\":1,\"JPY\":0.1096}}");
+		service.refresh();
+		ExchangeRateService.RateSnapshot first = service.snapshot("KRW");
+
+		status.set(HttpStatus.INTERNAL_SERVER_ERROR);
+		body.set("{\"result\":\"error\"}");
+		service.refresh();
+
+		status.set(HttpStatus.OK);
+		body.set("{\"result\":\"error\",\"error-type\":\"quota-reached\"}"); // conversion_rates 없음
+		service.refresh();
+
+		assertThat(service.snapshot("KRW")).isSameAs(first);
+		assertThat(service.latestRates("KRW")).containsEntry("JPY", 0.1096);
+		assertThat(requested).hasSize(3); // 조회는 스냅샷에서(갱신 3번만 호출)
+	}
+
+	@Test
+	void firstLookupLoadsWhenNoSnapshotYetAndOtherBasesAreFetchedDirectly() {
+		body.set("{\"conversion_rates\":{\"KRW\":1,\"JPY\":0.1096}}");
+
+		assertThat(service.latestRates("KRW")).containsEntry("JPY", 0.1096);
+		assertThat(service.latestRates("KRW")).containsEntry("JPY", 0.1096);
+		assertThat(requested).containsExactly("/v6/key/latest/KRW");
+
+		body.set("{\"conversion_rates\":{\"USD\":1,\"KRW\":1385.5}}");
+		assertThat(service.latestRates("USD")).containsEntry("KRW", 1385.5);
+		assertThat(requested).containsExactly("/v6/key/latest/KRW", "/v6/key/latest/USD");
+	}
+
+	@Test
+	void firstLookupFailsWhenNothingWasEverLoaded() {
+		status.set(HttpStatus.SERVICE_UNAVAILABLE);
+		body.set("{}");
+
+		assertThatThrownBy(() -> service.snapshot("KRW")).isInstanceOf(RuntimeException.class);
+	}
+}
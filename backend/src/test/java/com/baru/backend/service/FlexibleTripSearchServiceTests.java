@@ -0,0 +1,104 @@
+package com.baru.backend.service;
+
+import com.baru.backend.dto.trip.FlexibleTripSearchResponse;
+import com.baru.backend.dto.trip.TripSearchRequest;
+import com.baru.backend.service.amadeus.AmadeusFlightService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.baru.backend.service.TripSearchFixture.offer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FlexibleTripSearchServiceTests {
+
+	private static final LocalDate BASE = LocalDate.now().plusDays(30);
+
+	private final TripSearchFixture fixture = new TripSearchFixture();
+	private final FlexibleTripSearchService service = new FlexibleTripSearchService(
+			fixture.pricing, fixture.rates, fixture.fares, Schedulers.boundedElastic());
+
+	@BeforeEach
+	void setUp() {
+		// @Value 기본값(application.properties 와 같음)
+		ReflectionTestUtils.setField(service, "maxConcurrency", 20);
+		ReflectionTestUtils.setField(service, "flexDefaultDays", 3);
+		ReflectionTestUtils.setField(service, "flexMaxDays", 3);
+
+		when(fixture.fares.snapshot(anyString(), any(LocalDate.class), any(LocalDate.class),
+				anyString(), any(LocalDate.class), any(LocalDate.class), anyInt()))
+				.thenReturn(FareCalendarService.FareSnapshot.EMPTY);
+		when(fixture.routes.destinations("ICN")).thenReturn(List.of(
+				new RouteGraphService.RouteDestination("NRT", "JP", "TYO")));
+	}
+
+	@Test
+	void matrixCombinesEachOneWayOnceAndPicksTheCheapestPair() {
+		// 가는 날 D-1 / D / D+1, 오는 날 R-1 / R / R+1 (R = D+1)
+		oneWay("ICN", "NRT", BASE.minusDays(1), 300000);
+		oneWay("ICN", "NRT", BASE, 200000);
+		oneWay("ICN", "NRT", BASE.plusDays(1), 250000);
+		oneWay("NRT", "ICN", BASE, 150000);
+		oneWay("NRT", "ICN", BASE.plusDays(1), 100000);
+		oneWay("NRT", "ICN", BASE.plusDays(2), 120000);
+
+		TripSearchRequest req = TripSearchRequest.builder()
+				.budgetWon(2_000_000)
+				.people(1)
+				.departDate(BASE.toString())
+				.returnDate(BASE.plusDays(1).toString())
+				.originLocationCode("ICN")
+				.flexDays(1)
+				.build();
+
+		FlexibleTripSearchResponse response = service.searchFlexible(req).block(Duration.ofSeconds(5));
+
+		assertThat(response.getDepartDates()).containsExactly(
+				BASE.minusDays(1).toString(), BASE.toString(), BASE.plusDays(1).toString());
+		assertThat(response.getReturnDates()).containsExactly(
+				BASE.toString(), BASE.plusDays(1).toString(), BASE.plusDays(2).toString());
+
+		// 오는 날 ≤ 가는 날이면 null
+		FlexibleTripSearchResponse.DestinationMatrix nrt = response.getDestinations().get(0);
+		assertThat(response.getDestinations()).hasSize(1);
+		assertThat(nrt.getPricesWon()).containsExactly(
+				List.of(450000, 400000, 420000),
+				Arrays.asList(null, 300000, 320000),
+				Arrays.asList(null, null, 370000));
+		assertThat(nrt.getCheapestDepartDate()).isEqualTo(BASE.toString());
+		assertThat(nrt.getCheapestReturnDate()).isEqualTo(BASE.plusDays(1).toString());
+		assertThat(nrt.getCheapest().getPriceWon()).isEqualTo(300000);
+		assertThat(response.getBudget().getEstimatedTotalWon()).isEqualTo(300000);
+
+		// 편도 6건이 9개 조합에 들어가도 조회는 각각 한 번
+		for (int offset = -1; offset <= 1; offset++) {
+			verify(fixture.flights, times(1))
+					.fetchedOffersOneWayReactive("ICN", "NRT", BASE.plusDays(offset).toString(), 1, 1, "KRW");
+			verify(fixture.flights, times(1))
+					.fetchedOffersOneWayReactive("NRT", "ICN", BASE.plusDays(offset + 1).toString(), 1, 1, "KRW");
+		}
+		verify(fixture.flights, never()).findOffersRoundTripReactive(
+				anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt(), anyString());
+	}
+
+	private void oneWay(String from, String to, LocalDate date, int totalWon) {
+		when(fixture.flights.fetchedOffersOneWayReactive(from, to, date.toString(), 1, 1, "KRW"))
+				.thenReturn(Mono.just(new AmadeusFlightService.FetchedOffers(
+						List.of(offer("KRW", totalWon, from, to, date.toString())), Instant.now(), false)));
+	}
+}
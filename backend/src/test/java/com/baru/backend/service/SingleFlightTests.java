@@ -0,0 +1,54 @@
+package com.baru.backend.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTests {
+
+	private final SingleFlight<String, String> flight = new SingleFlight<>();
+
+	@Test
+	void concurrentCallersShareOneExecution() {
+		AtomicInteger executions = new AtomicInteger();
+		Sinks.One<String> upstream = Sinks.one();
+
+		Mono<String> first = flight.execute("ICN-NRT", () -> {
+			executions.incrementAndGet();
+			return upstream.asMono();
+		});
+		Mono<String> second = flight.execute("ICN-NRT", () -> {
+			executions.incrementAndGet();
+			return upstream.asMono();
+		});
+
+		StringBuilder results = new StringBuilder();
+		first.subscribe(results::append);
+		second.subscribe(results::append);
+		upstream.tryEmitValue("ok");
+
+		assertThat(executions).hasValue(1);
+		assertThat(results.toString()).isEqualTo("okok");
+		assertThat(flight.inFlightCount()).isZero();
+		assertThat(flight.startedCount()).isEqualTo(1);
+		assertThat(flight.joinedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void oneCallerCancellingDoesNotCancelTheOthers() {
+		Sinks.One<String> upstream = Sinks.one();
+
+		var cancelled = flight.execute("ICN-NRT", upstream::asMono).subscribe();
+		StringBuilder result = new StringBuilder();
+		flight.execute("ICN-NRT", upstream::asMono).subscribe(result::append);
+
+		cancelled.dispose();
+		upstream.tryEmitValue("ok");
+
+		assertThat(result.toString()).isEqualTo("ok");
+	}
+}
@@ -0,0 +1,33 @@
+package com.baru.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKTests {
+
+	@Test
+	void keepsCheapestKInAscendingOrder() {
+		TopK<Integer> top = new TopK<>(3, Integer::intValue);
+
+		for (int price : new int[]{500, 100, 400, 300, 200}) {
+			top.offer(price);
+		}
+
+		assertThat(top.sorted()).containsExactly(100, 200, 300);
+	}
+
+	@Test
+	void thresholdIsKthPriceOnceFull() {
+		TopK<Integer> top = new TopK<>(2, Integer::intValue);
+		assertThat(top.threshold()).isEqualTo(Integer.MAX_VALUE);
+
+		top.offer(300);
+		top.offer(100);
+		assertThat(top.threshold()).isEqualTo(300);
+
+		assertThat(top.offer(300)).isFalse();
+		assertThat(top.offer(200)).isTrue();
+		assertThat(top.threshold()).isEqualTo(200);
+	}
+}
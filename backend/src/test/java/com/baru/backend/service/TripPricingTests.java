@@ -0,0 +1,213 @@
+package com.baru.backend.service;
+
+import com.baru.backend.domain.FlightFare;
+import com.baru.backend.dto.trip.TripSearchRequest;
+import com.baru.backend.dto.trip.TripSearchResponse;
+import com.baru.backend.service.amadeus.AmadeusFlightService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static com.baru.backend.service.TripSearchFixture.DEPART;
+import static com.baru.backend.service.TripSearchFixture.RETURN;
+import static com.baru.backend.service.TripSearchFixture.offer;
+import static com.baru.backend.service.TripSearchFixture.request;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TripPricingTests {
+
+	private final TripSearchFixture fixture = new TripSearchFixture();
+	private final TripSearchService service = fixture.searchService();
+
+	@BeforeEach
+	void setUp() {
+		when(fixture.routes.destinations("ICN")).thenReturn(List.of(
+				new RouteGraphService.RouteDestination("NRT", "JP", "TYO")));
+	}
+
+	@Test
+	void sameHomeAirportCallsOneRoundTripAndNoOneWays() {
+		TripSearchResponse response = search(request());
+
+		assertThat(response.getFlights()).extracting(TripSearchResponse.FlightCard::getPriceWon).containsExactly(380000);
+		verify(fixture.flights, times(1)).findOffersRoundTripReactive("ICN", "NRT", DEPART, RETURN, 1, 1, "KRW");
+		verifyNoOneWays();
+		assertThat(planCount("round-trip")).isEqualTo(1);
+	}
+
+	@Test
+	void differentHomeAirportCallsTwoOneWays() {
+		oneWay("ICN", "NRT", DEPART, 200000);
+		oneWay("NRT", "GMP", RETURN, 150000);
+		TripSearchRequest req = request();
+		req.setDestinationLocationCode("GMP");
+
+		TripSearchResponse response = search(req);
+
+		assertThat(response.getFlights()).extracting(TripSearchResponse.FlightCard::getPriceWon).containsExactly(350000);
+		verify(fixture.flights, times(1)).fetchedOffersOneWayReactive("ICN", "NRT", DEPART, 1, 1, "KRW");
+		verify(fixture.flights, times(1)).fetchedOffersOneWayReactive("NRT", "GMP", RETURN, 1, 1, "KRW");
+		verifyNoRoundTrips();
+		assertThat(planCount("one-ways")).isEqualTo(1);
+	}
+
+	@Test
+	void bothLegsInCalendarNeedNoCall() {
+		when(fixture.fares.snapshot(anyString(), anyString(), anyString(), anyString(), anyInt()))
+				.thenReturn(new FareCalendarService.FareSnapshot(
+						Map.of(new FareCalendarService.FareKey("NRT", DEPART), fare("ICN", "NRT", DEPART, 200000)),
+						Map.of(new FareCalendarService.FareKey("NRT", RETURN), fare("NRT", "ICN", RETURN, 150000))));
+
+		TripSearchResponse response = search(request());
+
+		assertThat(response.getFlights()).extracting(TripSearchResponse.FlightCard::getPriceWon).containsExactly(350000);
+		verifyNoRoundTrips();
+		verifyNoOneWays();
+		assertThat(planCount("one-ways")).isEqualTo(1);
+	}
+
+	@Test
+	void compareOneWaysKeepsTheCheaperPlan() {
+		ReflectionTestUtils.setField(fixture.pricing, "compareOneWays", true);
+		oneWay("ICN", "NRT", DEPART, 200000);
+		oneWay("NRT", "ICN", RETURN, 150000);
+
+		TripSearchResponse response = search(request());
+
+		// 편도 합계(350000)가 왕복(380000)보다 싸므로 편도 쪽
+		assertThat(response.getFlights()).extracting(TripSearchResponse.FlightCard::getPriceWon).containsExactly(350000);
+		verify(fixture.flights, times(1)).findOffersRoundTripReactive("ICN", "NRT", DEPART, RETURN, 1, 1, "KRW");
+		verify(fixture.flights, times(1)).fetchedOffersOneWayReactive("ICN", "NRT", DEPART, 1, 1, "KRW");
+		verify(fixture.flights, times(1)).fetchedOffersOneWayReactive("NRT", "ICN", RETURN, 1, 1, "KRW");
+		assertThat(planCount("round-trip-vs-one-ways")).isEqualTo(1);
+	}
+
+	@Test
+	void resultsComeCheapestFirst() {
+		when(fixture.routes.destinations("ICN")).thenReturn(List.of(
+				new RouteGraphService.RouteDestination("NRT", "JP", "TYO"),
+				new RouteGraphService.RouteDestination("KIX", "JP", "OSA"),
+				new RouteGraphService.RouteDestination("BKK", "TH", "BKK")));
+		fixture.roundTrip("KIX", "KRW", 250000);
+		fixture.roundTrip("BKK", "KRW", 520000);
+
+		TripSearchResponse response = search(request());
+
+		assertThat(response.getFlights()).extracting(TripSearchResponse.FlightCard::getArrivalAirport)
+				.containsExactly("KIX", "NRT", "BKK");
+		assertThat(planCount("round-trip")).isEqualTo(3);
+		verifyNoOneWays();
+	}
+
+	@Test
+	void multipleOriginsMergeDestinationsAndKeepTheCheapestOrigin() {
+		when(fixture.routes.destinations("GMP")).thenReturn(List.of(
+				new RouteGraphService.RouteDestination("CJU", "KR", "CJU"),
+				new RouteGraphService.RouteDestination("PUS", "KR", "PUS"),
+				new RouteGraphService.RouteDestination("USN", "KR", "USN")));
+		when(fixture.routes.destinations("PUS")).thenReturn(List.of(
+				new RouteGraphService.RouteDestination("CJU", "KR", "CJU"),
+				new RouteGraphService.RouteDestination("GMP", "KR", "SEL")));
+		roundTrip("GMP", "CJU", 90000);
+		roundTrip("PUS", "CJU", 70000);
+		roundTrip("GMP", "USN", 80000);
+		TripSearchRequest req = request();
+		req.setOriginLocationCode(null);
+		req.setOriginLocationCodes(List.of("GMP", "PUS"));
+		req.setDomestic(true);
+
+		TripSearchResponse response = search(req);
+
+		// 출발 공항끼리(GMP ⇄ PUS)는 후보에서 빠지고, CJU 는 한 장(더 싼 PUS 출발)
+		assertThat(response.getFlights()).extracting(TripSearchResponse.FlightCard::getArrivalAirport)
+				.containsExactly("CJU", "USN");
+		assertThat(response.getFlights()).extracting(TripSearchResponse.FlightCard::getDepartureAirport)
+				.containsExactly("PUS", "GMP");
+		verify(fixture.flights, never()).findOffersRoundTripReactive(
+				"GMP", "PUS", DEPART, RETURN, 1, 1, "KRW");
+		verify(fixture.flights, never()).findOffersRoundTripReactive(
+				"PUS", "GMP", DEPART, RETURN, 1, 1, "KRW");
+
+		// 호텔은 출발 공항 수와 상관없이 목적지당 한 번
+		verify(fixture.hotels, times(1)).listHotelsByCityReactive("CJU", 20);
+		verify(fixture.hotels, times(1)).listHotelsByCityReactive("USN", 20);
+	}
+
+	@Test
+	void multipleOriginsShareTheInboundLegToOneHomeAirport() {
+		when(fixture.routes.destinations("GMP")).thenReturn(List.of(
+				new RouteGraphService.RouteDestination("NRT", "JP", "TYO")));
+		when(fixture.routes.destinations("PUS")).thenReturn(List.of(
+				new RouteGraphService.RouteDestination("NRT", "JP", "TYO")));
+		oneWay("GMP", "NRT", DEPART, 250000);
+		oneWay("PUS", "NRT", DEPART, 200000);
+		// 두 출발 공항의 IN 조회가 겹치도록 응답을 늦춤(실제로는 Amadeus 응답 시간)
+		when(fixture.flights.fetchedOffersOneWayReactive("NRT", "ICN", RETURN, 1, 1, "KRW"))
+				.thenReturn(Mono.just(new AmadeusFlightService.FetchedOffers(
+						List.of(offer("KRW", 150000, "NRT", "ICN", RETURN)), Instant.now(), false))
+						.delayElement(Duration.ofMillis(200)));
+		TripSearchRequest req = request();
+		req.setOriginLocationCode(null);
+		req.setOriginLocationCodes(List.of("GMP", "PUS"));
+		req.setDestinationLocationCode("ICN");
+
+		TripSearchResponse response = search(req);
+
+		assertThat(response.getFlights()).singleElement().satisfies(card -> {
+			assertThat(card.getDepartureAirport()).isEqualTo("PUS");
+			assertThat(card.getPriceWon()).isEqualTo(350000);
+		});
+		// 두 출발 공항이 같은 NRT → ICN 편도를 씀 → 한 번만 조회
+		verify(fixture.flights, times(1)).fetchedOffersOneWayReactive("NRT", "ICN", RETURN, 1, 1, "KRW");
+		verifyNoRoundTrips();
+		assertThat(planCount("one-ways")).isEqualTo(2);
+	}
+
+	private TripSearchResponse search(TripSearchRequest req) {
+		return service.searchReactive(req).block(Duration.ofSeconds(5));
+	}
+
+	private double planCount(String plan) {
+		return fixture.registry.counter("trip.search.plan", "plan", plan).count();
+	}
+
+	private void verifyNoRoundTrips() {
+		verify(fixture.flights, never()).findOffersRoundTripReactive(
+				anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt(), anyString());
+	}
+
+	private void verifyNoOneWays() {
+		verify(fixture.flights, never()).fetchedOffersOneWayReactive(
+				anyString(), anyString(), anyString(), anyInt(), anyInt(), anyString());
+	}
+
+	private void roundTrip(String origin, String destination, int totalWon) {
+		when(fixture.flights.findOffersRoundTripReactive(origin, destination, DEPART, RETURN, 1, 1, "KRW"))
+				.thenReturn(Mono.just(List.of(offer("KRW", totalWon, origin, destination))));
+	}
+
+	private void oneWay(String from, String to, String date, int totalWon) {
+		when(fixture.flights.fetchedOffersOneWayReactive(from, to, date, 1, 1, "KRW"))
+				.thenReturn(Mono.just(new AmadeusFlightService.FetchedOffers(
+						List.of(offer("KRW", totalWon, from, to, date)), Instant.now(), false)));
+	}
+
+	private static FlightFare fare(String from, String to, String date, int totalWon) {
+		return new FlightFare(from, to, LocalDate.parse(date), 1, offer("KRW", totalWon, from, to, date),
+				FlightFare.Source.CALENDAR, LocalDateTime.now());
+	}
+}
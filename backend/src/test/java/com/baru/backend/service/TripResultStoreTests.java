@@ -0,0 +1,105 @@
+package com.baru.backend.service;
+
+import com.baru.backend.domain.FlightFare;
+import com.baru.backend.dto.flight.FlightOffer;
+import com.baru.backend.repository.FlightFareRepository;
+import com.baru.backend.repository.TripSearchResultRepository;
+import com.baru.backend.service.amadeus.AmadeusFlightService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TripResultStoreTests {
+
+	private final FlightFareRepository fares = mock(FlightFareRepository.class);
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	// flush 는 테스트에서 직접(flush-interval 1시간)
+	private final TripResultStore store = new TripResultStore(
+			fares,
+			mock(TripSearchResultRepository.class),
+			new TransactionTemplate(mock(PlatformTransactionManager.class)),
+			registry,
+			true,
+			Duration.ofMinutes(10),
+			Duration.ofHours(1),
+			500,
+			10_000,
+			Duration.ofMinutes(10)
+	);
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		store.shutdown();
+	}
+
+	@Test
+	void sameFareIsNotQueuedAgainWhileRecent() {
+		store.saveFareLater("ICN", "NRT", "2026-11-12", 1, fetched(189821));
+		flush();
+		store.saveFareLater("ICN", "NRT", "2026-11-12", 1, fetched(189821));
+		flush();
+
+		verify(fares, times(1)).saveAll(anyList());
+	}
+
+	@Test
+	void failedBatchIsRetriedByTheNextSearch() {
+		when(fares.saveAll(anyList()))
+				.thenThrow(new IllegalStateException("duplicate key"))
+				.thenReturn(List.of());
+
+		store.saveFareLater("ICN", "NRT", "2026-11-12", 1, fetched(189821));
+		flush();
+		assertThat(registry.counter("trip.store.errors", "op", "write-fare").count()).isEqualTo(1);
+
+		store.saveFareLater("ICN", "NRT", "2026-11-12", 1, fetched(189821));
+		flush();
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<FlightFare>> saved = ArgumentCaptor.forClass(List.class);
+		verify(fares, times(2)).saveAll(saved.capture());
+		assertThat(saved.getValue()).singleElement().satisfies(fare -> {
+			assertThat(fare.getOriginIata()).isEqualTo("ICN");
+			assertThat(fare.getDestinationIata()).isEqualTo("NRT");
+			assertThat(fare.getSource()).isEqualTo(FlightFare.Source.LIVE);
+		});
+	}
+
+	@Test
+	void staleFallbackIsNeverQueued() {
+		store.saveFareLater("ICN", "NRT", "2026-11-12", 1,
+				new AmadeusFlightService.FetchedOffers(List.of(offer(189821)), Instant.now(), true));
+		flush();
+
+		verify(fares, times(0)).saveAll(anyList());
+	}
+
+	private void flush() {
+		ReflectionTestUtils.invokeMethod(store, "flush");
+	}
+
+	private static AmadeusFlightService.FetchedOffers fetched(int totalWon) {
+		return new AmadeusFlightService.FetchedOffers(List.of(offer(totalWon)), Instant.now(), false);
+	}
+
+	private static FlightOffer offer(int totalWon) {
+		return new FlightOffer("KRW", totalWon, List.of(new FlightOffer.Itinerary(120, List.of(
+				new FlightOffer.Segment("KE", "703", "ICN", "2026-11-12T08:00:00", "NRT", "2026-11-12T10:00:00")))));
+	}
+}
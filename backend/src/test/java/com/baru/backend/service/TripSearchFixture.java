@@ -0,0 +1,114 @@
+package com.baru.backend.service;
+
+import com.baru.backend.dto.flight.FlightOffer;
+import com.baru.backend.dto.trip.TripSearchRequest;
+import com.baru.backend.service.amadeus.AmadeusFlightService;
+import com.baru.backend.service.amadeus.AmadeusHotelService;
+import com.baru.backend.service.amadeus.AmadeusLocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 검색 서비스 테스트 공통: 외부 호출(Amadeus / 환율 / 노선 / 캘린더 / DB)은 mock, TripPricing 과 TripResultCache 는 실제.
+ * 기본 stub: ICN → NRT(KRW 380000 왕복), CDG(환율표에 없는 EUR → 카드를 만들다 실패), 호텔 없음, 캘린더 비어 있음.
+ */
+class TripSearchFixture {
+
+	static final String DEPART = LocalDate.now().plusDays(30).toString();
+	static final String RETURN = LocalDate.now().plusDays(33).toString();
+
+	final AmadeusFlightService flights = mock(AmadeusFlightService.class);
+	final ExchangeRateService rates = mock(ExchangeRateService.class);
+	final AmadeusHotelService hotels = mock(AmadeusHotelService.class);
+	final RouteGraphService routes = mock(RouteGraphService.class);
+	final FareCalendarService fares = mock(FareCalendarService.class);
+	final TripResultStore store = mock(TripResultStore.class);
+	final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	final TripPricing pricing = new TripPricing(
+			flights, rates, hotels, mock(AmadeusLocationService.class), routes, fares,
+			store, Schedulers.boundedElastic(), registry);
+	final TripResultCache resultCache = new TripResultCache(store, registry);
+
+	TripSearchFixture() {
+		// @Value 기본값(application.properties 와 같음)
+		ReflectionTestUtils.setField(pricing, "callTimeout", Duration.ofSeconds(5));
+		ReflectionTestUtils.setField(pricing, "hotelTimeout", Duration.ofSeconds(5));
+		ReflectionTestUtils.setField(pricing, "reactiveCalls", true);
+		ReflectionTestUtils.setField(pricing, "roundTripPlanning", true);
+		ReflectionTestUtils.setField(pricing, "compareOneWays", false);
+		ReflectionTestUtils.setField(pricing, "maxOrigins", 3);
+		pricing.init();
+		ReflectionTestUtils.setField(resultCache, "resultMaxAge", Duration.ofMinutes(10));
+		ReflectionTestUtils.setField(resultCache, "resultCacheMaxSize", 1000L);
+		resultCache.init();
+
+		when(rates.snapshot("KRW")).thenReturn(new ExchangeRateService.RateSnapshot(
+				"KRW", Map.of("KRW", 1.0, "JPY", 0.1096), LocalDateTime.now()));
+		when(fares.snapshot(anyString(), anyString(), anyString(), anyString(), anyInt()))
+				.thenReturn(FareCalendarService.FareSnapshot.EMPTY);
+		when(routes.destinations("ICN")).thenReturn(List.of(
+				new RouteGraphService.RouteDestination("NRT", "JP", "TYO"),
+				new RouteGraphService.RouteDestination("CDG", "FR", "PAR")));
+		when(hotels.listHotelsByCityReactive(anyString(), anyInt())).thenReturn(Mono.just(List.of()));
+		when(hotels.findCheapestHotelOfferReactive(anyString(), anyList(), anyString(), anyString(), anyInt()))
+				.thenReturn(Mono.empty());
+
+		roundTrip("NRT", "KRW", 380000);
+		roundTrip("CDG", "EUR", 900);
+	}
+
+	TripSearchService searchService() {
+		TripSearchService service = new TripSearchService(pricing, resultCache, Schedulers.boundedElastic(), registry);
+		ReflectionTestUtils.setField(service, "maxConcurrency", 20);
+		service.init();
+		return service;
+	}
+
+	double destinationErrors() {
+		return registry.counter("trip.search.errors", "call", "destination", "cause", "error").count();
+	}
+
+	void roundTrip(String destination, String currency, double total) {
+		when(flights.findOffersRoundTripReactive(eq("ICN"), eq(destination), eq(DEPART), eq(RETURN), eq(1), eq(1), eq("KRW")))
+				.thenReturn(Mono.just(List.of(offer(currency, total, "ICN", destination))));
+	}
+
+	static TripSearchRequest request() {
+		return request("ICN", 2_000_000);
+	}
+
+	static TripSearchRequest request(String origin, int budgetWon) {
+		return TripSearchRequest.builder()
+				.budgetWon(budgetWon)
+				.people(1)
+				.departDate(DEPART)
+				.returnDate(RETURN)
+				.originLocationCode(origin)
+				.build();
+	}
+
+	static FlightOffer offer(String currency, double total, String from, String to) {
+		return offer(currency, total, from, to, DEPART);
+	}
+
+	static FlightOffer offer(String currency, double total, String from, String to, String date) {
+		return new FlightOffer(currency, total, List.of(new FlightOffer.Itinerary(120, List.of(
+				new FlightOffer.Segment("KE", "703", from, date + "T08:00:00", to, date + "T10:00:00")))));
+	}
+}
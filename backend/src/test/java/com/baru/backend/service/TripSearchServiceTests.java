@@ -0,0 +1,62 @@
+package com.baru.backend.service;
+
+import com.baru.backend.dto.trip.TripSearchRequest;
+import com.baru.backend.dto.trip.TripSearchResponse;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.baru.backend.service.TripSearchFixture.DEPART;
+import static com.baru.backend.service.TripSearchFixture.RETURN;
+import static com.baru.backend.service.TripSearchFixture.offer;
+import static com.baru.backend.service.TripSearchFixture.request;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TripSearchServiceTests {
+
+	private final TripSearchFixture fixture = new TripSearchFixture();
+	private final TripSearchService service = fixture.searchService();
+
+	@Test
+	void failingDestinationIsSkippedInReactiveSearch() {
+		TripSearchResponse response = service.searchReactive(request()).block(Duration.ofSeconds(5));
+
+		assertThat(response.getFlights()).extracting(TripSearchResponse.FlightCard::getArrivalAirport).containsExactly("NRT");
+		assertThat(fixture.destinationErrors()).isEqualTo(1);
+	}
+
+	@Test
+	void failingDestinationIsSkippedInBlockingSearch() {
+		TripSearchResponse response = service.search(request());
+
+		assertThat(response.getFlights()).extracting(TripSearchResponse.FlightCard::getArrivalAirport).containsExactly("NRT");
+		assertThat(fixture.destinationErrors()).isEqualTo(1);
+	}
+
+	@Test
+	void identicalConcurrentSearchesShareOneFanOut() {
+		// 첫 검색이 끝나기 전에 두 번째가 들어오도록 왕복 응답을 늦춤
+		when(fixture.flights.findOffersRoundTripReactive("ICN", "NRT", DEPART, RETURN, 1, 1, "KRW"))
+				.thenReturn(Mono.just(List.of(offer("KRW", 380000, "ICN", "NRT"))).delayElement(Duration.ofMillis(200)));
+		TripSearchRequest first = request();
+		TripSearchRequest second = request();
+
+		Tuple2<TripSearchResponse, TripSearchResponse> responses =
+				Mono.zip(service.searchReactive(first), service.searchReactive(second)).block(Duration.ofSeconds(5));
+
+		// fan-out 은 한 번(환율 / 왕복 조회 1번), 응답은 각자 자기 요청을 담음
+		verify(fixture.rates, times(1)).snapshot("KRW");
+		verify(fixture.flights, times(1)).findOffersRoundTripReactive("ICN", "NRT", DEPART, RETURN, 1, 1, "KRW");
+		assertThat(responses.getT1().getRequested()).isSameAs(first);
+		assertThat(responses.getT2().getRequested()).isSameAs(second);
+		assertThat(responses.getT2().getFlights()).isEqualTo(responses.getT1().getFlights());
+		assertThat(fixture.registry.get("trip.search.coalesced").tag("kind", "search").functionCounter().count())
+				.isEqualTo(1);
+	}
+}
@@ -0,0 +1,34 @@
+package com.baru.backend.service;
+
+import com.baru.backend.dto.trip.TripSearchEvent;
+import com.baru.backend.dto.trip.TripSearchResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.baru.backend.service.TripSearchFixture.request;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TripSearchStreamServiceTests {
+
+	private final TripSearchFixture fixture = new TripSearchFixture();
+	private final TripSearchStreamService service = new TripSearchStreamService(fixture.pricing, Schedulers.boundedElastic());
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(service, "maxConcurrency", 20);
+	}
+
+	@Test
+	void failingDestinationIsSkippedInStream() {
+		List<TripSearchEvent> events = service.searchStream(request()).collectList().block(Duration.ofSeconds(5));
+
+		assertThat(events).extracting(TripSearchEvent::getType).containsExactly(TripSearchEvent.FLIGHT, TripSearchEvent.SUMMARY);
+		assertThat(events.get(1).getFlights()).extracting(TripSearchResponse.FlightCard::getArrivalAirport).containsExactly("NRT");
+		assertThat(fixture.destinationErrors()).isEqualTo(1);
+	}
+}
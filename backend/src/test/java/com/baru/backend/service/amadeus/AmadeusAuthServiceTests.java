@@ -0,0 +1,122 @@
+package com.baru.backend.service.amadeus;
+
+import com.baru.backend.config.OutboundTimeouts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AmadeusAuthServiceTests {
+
+	private final AtomicInteger tokenCalls = new AtomicInteger();
+	private final AmadeusRateLimiter limiter =
+			new AmadeusRateLimiter(new MockEnvironment(), 100, 100, Duration.ofSeconds(5));
+
+	// 토큰 발급 1건마다 100ms 뒤 token-1, token-2 ...
+	private final AmadeusAuthService auth = new AmadeusAuthService(
+			WebClient.builder().exchangeFunction(request -> {
+				int n = tokenCalls.incrementAndGet();
+				return Mono.delay(Duration.ofMillis(100)).thenReturn(ClientResponse.create(HttpStatus.OK)
+						.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+						.body("{\"access_token\":\"token-" + n + "\",\"expires_in\":1799}")
+						.build());
+			}),
+			"http://amadeus.test",
+			Duration.ofSeconds(60),
+			new OutboundTimeouts(new MockEnvironment(), Duration.ofSeconds(5)),
+			limiter
+	);
+
+	@AfterEach
+	void tearDown() {
+		limiter.shutdown();
+	}
+
+	@Test
+	void concurrentCallersShareOneTokenRequest() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<CompletableFuture<String>> tokens = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				tokens.add(CompletableFuture.supplyAsync(auth::getAccessToken, pool));
+			}
+			for (int i = 0; i < 8; i++) {
+				tokens.add(auth.accessToken().toFuture());
+			}
+
+			for (CompletableFuture<String> token : tokens) {
+				assertThat(token.get(5, TimeUnit.SECONDS)).isEqualTo("token-1");
+			}
+			assertThat(tokenCalls).hasValue(1);
+
+			assertThat(auth.getAccessToken()).isEqualTo("token-1"); // 유효한 동안은 다시 발급하지 않음
+			assertThat(tokenCalls).hasValue(1);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void unauthorizedIsRetriedOnceWithFreshToken() {
+		List<String> used = new CopyOnWriteArrayList<>();
+
+		String result = auth.withToken(token -> {
+			used.add(token);
+			if (used.size() == 1) throw unauthorized();
+			return "ok with " + token;
+		});
+
+		assertThat(result).isEqualTo("ok with token-2");
+		assertThat(used).containsExactly("token-1", "token-2");
+	}
+
+	@Test
+	void reactiveUnauthorizedIsRetriedOnceWithFreshToken() {
+		List<String> used = new CopyOnWriteArrayList<>();
+
+		String result = auth.withTokenReactive(token -> {
+			used.add(token);
+			return used.size() == 1 ? Mono.<String>error(unauthorized()) : Mono.just("ok with " + token);
+		}).block(Duration.ofSeconds(5));
+
+		assertThat(result).isEqualTo("ok with token-2");
+		assertThat(used).containsExactly("token-1", "token-2");
+	}
+
+	@Test
+	void secondUnauthorizedIsNotRetriedAgain() {
+		List<String> used = new CopyOnWriteArrayList<>();
+
+		assertThatThrownBy(() -> auth.withTokenReactive(token -> {
+			used.add(token);
+			return Mono.<String>error(unauthorized());
+		}).block(Duration.ofSeconds(5))).isInstanceOf(WebClientResponseException.Unauthorized.class);
+
+		assertThat(used).containsExactly("token-1", "token-2");
+		assertThat(tokenCalls).hasValue(2);
+	}
+
+	private static WebClientResponseException unauthorized() {
+		return WebClientResponseException.create(
+				HttpStatus.UNAUTHORIZED, "Unauthorized", new HttpHeaders(), new byte[0], null, null);
+	}
+}
@@ -0,0 +1,89 @@
+package com.baru.backend.service.amadeus;
+
+import com.baru.backend.config.OutboundTimeouts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AmadeusGatewayTests {
+
+	private final AmadeusRateLimiter limiter =
+			new AmadeusRateLimiter(new MockEnvironment(), 100, 100, Duration.ofSeconds(5));
+	private AmadeusGateway gateway;
+
+	@BeforeEach
+	void setUp() {
+		AmadeusAuthService auth = mock(AmadeusAuthService.class);
+		when(auth.withTokenReactive(any()))
+				.thenAnswer(inv -> inv.<Function<String, Mono<?>>>getArgument(0).apply("token"));
+
+		// 표본 1건이면 hedge 시작, 지연은 min-delay 기본값(300ms), 예산 제한 없음
+		MockEnvironment env = new MockEnvironment()
+				.withProperty("amadeus.hedge.flight-offers.enabled", "true")
+				.withProperty("amadeus.hedge.flight-offers.min-samples", "1")
+				.withProperty("amadeus.hedge.flight-offers.max-ratio", "1");
+		gateway = new AmadeusGateway(auth, limiter, new OutboundTimeouts(env, Duration.ofSeconds(15)),
+				new SimpleMeterRegistry(), env, 50, 20, 0.5, Duration.ofSeconds(30), 3);
+
+		assertThat(gateway.callReactive(AmadeusEndpoint.FLIGHT_OFFERS, token -> Mono.just("warm-up")).block())
+				.isEqualTo("warm-up");
+	}
+
+	@AfterEach
+	void tearDown() {
+		limiter.shutdown();
+	}
+
+	@Test
+	void hedgeRescuesPrimaryThatFailsWhileHedgeIsInFlight() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		// primary 는 hedge(300ms)가 나간 뒤 400ms 에 실패, hedge 는 그보다 늦게 성공
+		String result = gateway.callReactive(AmadeusEndpoint.FLIGHT_OFFERS, token -> attempts.incrementAndGet() == 1
+				? Mono.delay(Duration.ofMillis(400)).then(Mono.error(new IllegalStateException("primary failed")))
+				: Mono.delay(Duration.ofMillis(300)).thenReturn("hedged")
+		).block(Duration.ofSeconds(5));
+
+		assertThat(result).isEqualTo("hedged");
+		assertThat(attempts).hasValue(2);
+	}
+
+	@Test
+	void primaryFailingBeforeHedgeFailsFastWithoutHedge() throws Exception {
+		AtomicInteger attempts = new AtomicInteger();
+		IllegalStateException failure = new IllegalStateException("bad request");
+
+		assertThatThrownBy(() -> gateway.callReactive(AmadeusEndpoint.FLIGHT_OFFERS, token -> {
+			attempts.incrementAndGet();
+			return Mono.error(failure);
+		}).block(Duration.ofMillis(200))).isSameAs(failure);
+
+		Thread.sleep(400); // hedge 타이머가 지났어도 추가 요청 없음
+		assertThat(attempts).hasValue(1);
+	}
+
+	@Test
+	void bothFailingSurfacesPrimaryError() {
+		AtomicInteger attempts = new AtomicInteger();
+		IllegalStateException primaryFailure = new IllegalStateException("primary failed");
+
+		assertThatThrownBy(() -> gateway.callReactive(AmadeusEndpoint.FLIGHT_OFFERS, token -> attempts.incrementAndGet() == 1
+				? Mono.delay(Duration.ofMillis(400)).then(Mono.error(primaryFailure))
+				: Mono.delay(Duration.ofMillis(300)).then(Mono.error(new IllegalStateException("hedge failed")))
+		).block(Duration.ofSeconds(5))).isSameAs(primaryFailure);
+		assertThat(attempts).hasValue(2);
+	}
+}
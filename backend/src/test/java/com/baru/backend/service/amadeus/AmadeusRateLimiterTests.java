@@ -0,0 +1,108 @@
+package com.baru.backend.service.amadeus;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AmadeusRateLimiterTests {
+
+	private final AmadeusRateLimiter limiter =
+			new AmadeusRateLimiter(new MockEnvironment(), 2, 1, Duration.ofSeconds(5));
+
+	@AfterEach
+	void tearDown() {
+		limiter.shutdown();
+	}
+
+	@Test
+	void interactiveWaiterIsServedBeforeEarlierBulkWaiter() throws Exception {
+		limiter.acquire(AmadeusEndpoint.FLIGHT_OFFERS, CallPriority.BULK); // burst 소진
+
+		CompletableFuture<Void> bulk = limiter.acquireAsync(AmadeusEndpoint.FLIGHT_OFFERS, CallPriority.BULK);
+		CompletableFuture<Void> interactive = limiter.acquireAsync(AmadeusEndpoint.FLIGHT_OFFERS, CallPriority.INTERACTIVE);
+
+		CompletableFuture.anyOf(bulk, interactive).get(3, TimeUnit.SECONDS);
+
+		assertThat(interactive).isDone();
+		assertThat(bulk).isNotDone();
+
+		bulk.get(3, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void cancelledWaiterGivesUpItsPlace() throws Exception {
+		limiter.acquire(AmadeusEndpoint.LOCATIONS, CallPriority.BULK);
+
+		CompletableFuture<Void> cancelled = limiter.acquireAsync(AmadeusEndpoint.LOCATIONS, CallPriority.BULK);
+		CompletableFuture<Void> next = limiter.acquireAsync(AmadeusEndpoint.LOCATIONS, CallPriority.BULK);
+		cancelled.cancel(false);
+
+		next.get(3, TimeUnit.SECONDS);
+		assertThat(next).isCompleted();
+	}
+
+	@Test
+	void endpointsHaveIndependentBuckets() {
+		limiter.acquire(AmadeusEndpoint.FLIGHT_OFFERS, CallPriority.BULK);
+
+		assertThat(limiter.acquireAsync(AmadeusEndpoint.HOTEL_OFFERS, CallPriority.BULK)).isCompleted();
+	}
+
+	@Test
+	void accountBucketIsSharedByAllEndpoints() throws Exception {
+		AmadeusRateLimiter shared = new AmadeusRateLimiter(new MockEnvironment()
+				.withProperty("amadeus.rate-limit.account.per-second", "2")
+				.withProperty("amadeus.rate-limit.account.burst", "1"), 100, 10, Duration.ofSeconds(5));
+		try {
+			shared.acquire(AmadeusEndpoint.FLIGHT_OFFERS, CallPriority.BULK);
+
+			CompletableFuture<Void> hotel = shared.acquireAsync(AmadeusEndpoint.HOTEL_OFFERS, CallPriority.BULK);
+			assertThat(hotel).isNotDone(); // 엔드포인트 토큰은 있지만 계정 토큰이 없음
+
+			hotel.get(3, TimeUnit.SECONDS);
+		} finally {
+			shared.shutdown();
+		}
+	}
+
+	@Test
+	void cancelledPermitReturnsTokensItAlreadyHeld() throws Exception {
+		AmadeusRateLimiter shared = new AmadeusRateLimiter(new MockEnvironment()
+				.withProperty("amadeus.rate-limit.account.per-second", "0.5")
+				.withProperty("amadeus.rate-limit.account.burst", "1"), 0.5, 1, Duration.ofSeconds(5));
+		try {
+			shared.acquire(AmadeusEndpoint.HOTEL_OFFERS, CallPriority.BULK); // 계정 토큰 소진
+
+			// 엔드포인트 토큰은 받고 계정 토큰을 기다리다 취소 → 엔드포인트 토큰 반납
+			CompletableFuture<Void> cancelled = shared.acquireAsync(AmadeusEndpoint.FLIGHT_OFFERS, CallPriority.BULK);
+			assertThat(cancelled).isNotDone();
+			cancelled.cancel(false);
+
+			shared.release(AmadeusEndpoint.HOTEL_OFFERS, CallPriority.BULK); // 계정 토큰 반납
+			assertThat(shared.acquireAsync(AmadeusEndpoint.FLIGHT_OFFERS, CallPriority.BULK)).isCompleted();
+		} finally {
+			shared.shutdown();
+		}
+	}
+
+	@Test
+	void backgroundCallsAreCappedBelowTheAccountRate() {
+		AmadeusRateLimiter capped = new AmadeusRateLimiter(new MockEnvironment()
+				.withProperty("amadeus.rate-limit.background.per-second", "0.5")
+				.withProperty("amadeus.rate-limit.background.burst", "1"), 100, 10, Duration.ofSeconds(5));
+		try {
+			capped.acquire(AmadeusEndpoint.FLIGHT_OFFERS, CallPriority.BACKGROUND);
+
+			assertThat(capped.acquireAsync(AmadeusEndpoint.FLIGHT_OFFERS, CallPriority.BACKGROUND)).isNotDone();
+			assertThat(capped.acquireAsync(AmadeusEndpoint.FLIGHT_OFFERS, CallPriority.BULK)).isCompleted();
+		} finally {
+			capped.shutdown();
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.baru.backend.service.amadeus;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTests {
+
+	private final AtomicLong now = new AtomicLong();
+	private final CircuitBreaker breaker =
+			new CircuitBreaker(10, 4, 0.5, Duration.ofSeconds(30), 2, now::get);
+
+	@Test
+	void opensWhenFailureRateIsReachedAndRejectsUntilOpenDurationPasses() {
+		succeed(2);
+		fail(1);
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED); // 최소 호출 수 미달
+
+		fail(1); // 2/4 실패
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(breaker.tryAcquire()).isFalse();
+
+		now.addAndGet(Duration.ofSeconds(31).toNanos());
+		assertThat(breaker.tryAcquire()).isTrue();
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+	}
+
+	@Test
+	void halfOpenClosesAfterTrialCallsSucceed() {
+		fail(4);
+		now.addAndGet(Duration.ofSeconds(31).toNanos());
+
+		assertThat(breaker.tryAcquire()).isTrue();
+		assertThat(breaker.tryAcquire()).isTrue();
+		assertThat(breaker.tryAcquire()).isFalse(); // half-open 허용 수 초과
+
+		breaker.onSuccess();
+		breaker.onSuccess();
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void halfOpenFailureReopensAndCancelledTrialGivesBackItsSlot() {
+		fail(4);
+		now.addAndGet(Duration.ofSeconds(31).toNanos());
+
+		assertThat(breaker.tryAcquire()).isTrue();
+		assertThat(breaker.tryAcquire()).isTrue();
+		breaker.onIgnored();
+		assertThat(breaker.tryAcquire()).isTrue();
+
+		breaker.onFailure();
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(breaker.tryAcquire()).isFalse();
+	}
+
+	private void succeed(int times) {
+		for (int i = 0; i < times; i++) {
+			assertThat(breaker.tryAcquire()).isTrue();
+			breaker.onSuccess();
+		}
+	}
+
+	private void fail(int times) {
+		for (int i = 0; i < times; i++) {
+			assertThat(breaker.tryAcquire()).isTrue();
+			breaker.onFailure();
+		}
+	}
+}
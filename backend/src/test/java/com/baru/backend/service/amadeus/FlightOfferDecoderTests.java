@@ -0,0 +1,132 @@
+package com.baru.backend.service.amadeus;
+
+import com.baru.backend.dto.flight.FlightOffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlightOfferDecoderTests {
+
+	private static final String ITINERARY = """
+			{"duration":"PT2H","segments":[{"carrierCode":"KE","number":"703",
+			  "departure":{"iataCode":"ICN","at":"2026-01-10T06:05:00"},"arrival":{"iataCode":"NRT","at":"2026-01-10T08:05:00"}}]}""";
+
+	@Test
+	void decodesFixtureOffers() throws IOException {
+		List<FlightOffer> offers = FlightOfferDecoder.decode(new ByteArrayInputStream(fixture()));
+
+		assertThat(offers).hasSize(20);
+		FlightOffer first = offers.get(0);
+		assertThat(first.currency()).isEqualTo("KRW");
+		assertThat(first.total()).isEqualTo(189821.0);
+		assertThat(first.itineraries()).hasSize(1);
+		assertThat(first.itineraries().get(0).durationMinutes()).isEqualTo(145);
+		assertThat(first.itineraries().get(0).segments()).containsExactly(new FlightOffer.Segment(
+				"ZE", "701", "ICN", "2026-11-12T08:07:00", "NRT", "2026-11-12T10:07:00"));
+	}
+
+	@Test
+	void incrementalMatchesWholeBodyForAnyChunkSize() throws IOException {
+		byte[] body = fixture();
+		List<FlightOffer> expected = FlightOfferDecoder.decode(new ByteArrayInputStream(body));
+
+		for (int chunk : new int[]{1, 7, 512, body.length}) {
+			FlightOfferDecoder.Incremental decoder = new FlightOfferDecoder.Incremental();
+			for (int i = 0; i < body.length; i += chunk) {
+				decoder.feed(body, i, Math.min(chunk, body.length - i));
+			}
+			assertThat(decoder.finish()).as("chunk=%d", chunk).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void skipsUnknownFieldsAndNestedArrays() throws IOException {
+		String json = """
+				{"meta":{"data":[{"price":{"total":"1"}}]},
+				 "warnings":[[{"data":[1,2]}],{"x":[[]]}],
+				 "data":[{"extra":[[1,{"price":{"total":"2"}}]],
+				          "price":{"currency":"JPY","fees":[{"amount":"0"}],"total":"140.40"},
+				          "itineraries":[{"duration":"PT1H30M","tags":[["a"]],
+				            "segments":[{"carrierCode":"KE","number":"703","aircraft":{"code":"738"},
+				              "departure":{"iataCode":"ICN","terminal":"2","at":"2026-01-10T06:05:00"},
+				              "arrival":{"iataCode":"NRT","at":"2026-01-10T07:35:00"}}]}]}],
+				 "dictionaries":{"carriers":{"KE":"KOREAN AIR"}}}
+				""";
+
+		FlightOffer expected = new FlightOffer("JPY", 140.40, List.of(new FlightOffer.Itinerary(90, List.of(
+				new FlightOffer.Segment("KE", "703", "ICN", "2026-01-10T06:05:00", "NRT", "2026-01-10T07:35:00")))));
+		assertThat(decodeBoth(json)).containsExactly(expected);
+	}
+
+	@Test
+	void dropsOffersWithoutPrice() throws IOException {
+		String json = """
+				{"data":[{"itineraries":[%1$s]},
+				         {"price":{"currency":"KRW","total":null},"itineraries":[%1$s]},
+				         {"price":{"currency":"KRW","total":"N/A"},"itineraries":[%1$s]},
+				         {"price":{"currency":"KRW","total":{"amount":1}},"itineraries":[%1$s]},
+				         {"price":{"currency":"KRW","total":"50000"},"itineraries":[%1$s]}]}
+				""".formatted(ITINERARY);
+
+		assertThat(decodeBoth(json)).extracting(FlightOffer::total).containsExactly(50000.0);
+	}
+
+	@Test
+	void dropsOffersWithoutItinerariesOrSegments() throws IOException {
+		String json = """
+				{"data":[{"price":{"currency":"KRW","total":"50000"}},
+				         {"price":{"currency":"KRW","total":"50000"},"itineraries":[]},
+				         {"price":{"currency":"KRW","total":"50000"},"itineraries":[{"duration":"PT2H","segments":[]}]},
+				         {"price":{"currency":"KRW","total":"50000"},"itineraries":[%s,{"duration":"PT2H"}]}]}
+				""".formatted(ITINERARY);
+
+		assertThat(decodeBoth(json)).isEmpty();
+	}
+
+	@Test
+	void incrementalSkipsUnusedOfferFieldsOfAnyShape() throws IOException {
+		String json = """
+				{"data":[{"type":"flight-offer","id":"1","oneWay":false,"lastTicketingDate":null,
+				          "travelerPricings":[{"fareDetailsBySegment":[{"cabin":"ECONOMY","amenities":[{"isChargeable":true}]}]}],
+				          "validatingAirlineCodes":["KE"],
+				          "price":{"currency":"KRW","total":"189821"},
+				          "pricingOptions":{"fareType":["PUBLISHED"]},
+				          "itineraries":[%s]}]}
+				""".formatted(ITINERARY);
+
+		assertThat(decodeBoth(json)).containsExactly(new FlightOffer("KRW", 189821, List.of(new FlightOffer.Itinerary(120,
+				List.of(new FlightOffer.Segment("KE", "703", "ICN", "2026-01-10T06:05:00", "NRT", "2026-01-10T08:05:00"))))));
+	}
+
+	@Test
+	void nonObjectRootOrMissingDataHasNoOffers() throws IOException {
+		assertThat(decodeBoth("[1,2,3]")).isEmpty();
+		assertThat(decodeBoth("{\"errors\":[{\"status\":400}]}")).isEmpty();
+	}
+
+	/** 두 경로가 같은 결과인지 확인하고 그 결과를 돌려줌 */
+	private static List<FlightOffer> decodeBoth(String json) throws IOException {
+		byte[] body = json.getBytes(StandardCharsets.UTF_8);
+		List<FlightOffer> whole = FlightOfferDecoder.decode(new ByteArrayInputStream(body));
+
+		FlightOfferDecoder.Incremental decoder = new FlightOfferDecoder.Incremental();
+		for (int i = 0; i < body.length; i += 5) {
+			decoder.feed(body, i, Math.min(5, body.length - i));
+		}
+		assertThat(decoder.finish()).isEqualTo(whole);
+		return whole;
+	}
+
+	private static byte[] fixture() throws IOException {
+		try (InputStream in = FlightOfferDecoderTests.class.getResourceAsStream("/fixtures/flight-offers-icn-nrt.json")) {
+			assertThat(in).isNotNull();
+			return in.readAllBytes();
+		}
+	}
+}
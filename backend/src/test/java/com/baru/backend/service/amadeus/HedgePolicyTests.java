@@ -0,0 +1,61 @@
+package com.baru.backend.service.amadeus;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgePolicyTests {
+
+	@Test
+	void noHedgeUntilMinSamples() {
+		HedgePolicy policy = new HedgePolicy(0.95, Duration.ofMillis(1), 0.1, 100, 10);
+
+		for (int i = 0; i < 9; i++) policy.record(millis(100));
+		assertThat(policy.delay()).isNull();
+
+		policy.record(millis(100));
+		assertThat(policy.delay()).isEqualTo(Duration.ofMillis(100));
+	}
+
+	@Test
+	void delayIsPercentileOfRecentWindowOnly() {
+		HedgePolicy policy = new HedgePolicy(0.5, Duration.ofNanos(1), 0.1, 32, 32);
+
+		for (int i = 1; i <= 32; i++) policy.record(millis(i));
+		assertThat(policy.delay()).isEqualTo(Duration.ofMillis(16));
+
+		// 창 크기만큼 새 표본이 들어오면 예전 표본은 빠짐
+		for (int i = 0; i < 32; i++) policy.record(millis(200));
+		assertThat(policy.delay()).isEqualTo(Duration.ofMillis(200));
+	}
+
+	@Test
+	void delayIsAtLeastMinDelay() {
+		HedgePolicy policy = new HedgePolicy(0.95, Duration.ofMillis(300), 0.1, 10, 1);
+
+		policy.record(millis(5));
+
+		assertThat(policy.delay()).isEqualTo(Duration.ofMillis(300));
+	}
+
+	@Test
+	void hedgesAreCappedAtMaxRatioOfCalls() {
+		HedgePolicy policy = new HedgePolicy(0.95, Duration.ofMillis(1), 0.25, 10, 1);
+		policy.record(millis(100));
+
+		for (int i = 0; i < 8; i++) policy.delay();
+		assertThat(policy.tryHedge()).isTrue();
+		assertThat(policy.tryHedge()).isTrue();
+		assertThat(policy.tryHedge()).isFalse();
+
+		for (int i = 0; i < 4; i++) policy.delay();
+		assertThat(policy.tryHedge()).isTrue();
+		assertThat(policy.tryHedge()).isFalse();
+	}
+
+	private static long millis(long ms) {
+		return Duration.ofMillis(ms).toNanos();
+	}
+}